@@ -0,0 +1,107 @@
+package com.example.demo.money;
+
+import com.example.demo.model.TransactionType;
+import com.example.demo.service.BudgetTotalsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sumowanie kwot transakcji: BigDecimal.add kontra long w groszach (Money.add) oraz zmiany sum
+ * budzetow (BudgetTotalsService.Delta) kontra ta sama mapa na BigDecimal. Rozmiary partii jak
+ * transactions.batch.max-size / transactions.import.chunk-size (500) i transactions.bulk.max-ids (10000).
+ * ./gradlew jmh, wyniki w build/results/jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyAggregationBenchmark {
+
+    private static final int BUDGETS = 20;
+
+    @Param({"500", "10000"})
+    private int size;
+
+    private BigDecimal[] amounts;
+    private long[] minorAmounts;
+    private Long[] budgetIds;
+    private TransactionType[] types;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[size];
+        minorAmounts = new long[size];
+        budgetIds = new Long[size];
+        types = new TransactionType[size];
+        for (int i = 0; i < size; i++) {
+            long minor = 1 + random.nextInt(500_000);
+            // Kwoty jak z bazy/JSON-a: skala 2, do 5000.00
+            amounts[i] = BigDecimal.valueOf(minor, Money.SCALE);
+            minorAmounts[i] = minor;
+            budgetIds[i] = (long) (1 + random.nextInt(BUDGETS));
+            types[i] = random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal minorUnitsSum() {
+        long total = 0L;
+        for (long amount : minorAmounts) {
+            total = Money.add(total, amount);
+        }
+        return Money.toAmount(total);
+    }
+
+    // Z konwersja kazdej kwoty z BigDecimal - tak liczy sie, gdy wejscie przychodzi z encji/DTO
+    @Benchmark
+    public BigDecimal minorUnitsSumFromBigDecimal() {
+        long total = 0L;
+        for (BigDecimal amount : amounts) {
+            total = Money.add(total, Money.toMinor(amount));
+        }
+        return Money.toAmount(total);
+    }
+
+    @Benchmark
+    public BudgetTotalsService.Delta budgetTotalsDelta() {
+        BudgetTotalsService.Delta delta = new BudgetTotalsService.Delta();
+        for (int i = 0; i < size; i++) {
+            delta.add(budgetIds[i], types[i], amounts[i]);
+        }
+        return delta;
+    }
+
+    // To samo co Delta, ale przychody/wydatki per budzet jako BigDecimal
+    @Benchmark
+    public TreeMap<Long, BigDecimal[]> budgetTotalsBigDecimal() {
+        TreeMap<Long, BigDecimal[]> changes = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            BigDecimal[] change = changes.computeIfAbsent(budgetIds[i],
+                    id -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            int index = types[i] == TransactionType.INCOME ? 0 : 1;
+            change[index] = change[index].add(amounts[i].setScale(Money.SCALE, RoundingMode.HALF_UP));
+        }
+        return changes;
+    }
+}
\ No newline at end of file
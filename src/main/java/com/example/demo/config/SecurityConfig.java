@@ -1,12 +1,13 @@
 package com.example.demo.config;
 
+import com.example.demo.security.BoundedPasswordEncoder;
 import com.example.demo.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -37,7 +38,11 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/users/register", "/api/users/login", "/h2-console/**").permitAll()
+                        // Dispatch ASYNC konczy juz autoryzowany request (SSE, streaming) - filtr JWT
+                        // nie jest w nim ponownie uruchamiany
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/users/register", "/api/users/login",
+                                "/api/auth/register", "/api/auth/login", "/api/auth/refresh", "/h2-console/**").permitAll()
                         .requestMatchers("/api/budgets/**", "/api/transactions/**").authenticated()
                         .anyRequest().authenticated()
                 )
@@ -65,12 +70,11 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hashing-threads:2}") int threads,
+            @Value("${security.password.hashing-queue-capacity:50}") int queueCapacity,
+            @Value("${security.password.hashing-timeout-ms:5000}") long timeoutMillis) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMillis);
     }
 }
\ No newline at end of file
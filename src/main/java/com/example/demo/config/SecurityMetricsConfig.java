@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import com.example.demo.security.BoundedPasswordEncoder;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.security.LoginThrottle;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class SecurityMetricsConfig {
+
+    @Bean
+    public MeterBinder jwtVerifiedCacheMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("jwt.verified.cache", jwtUtil, JwtUtil::getVerifiedCacheHits)
+                    .tag("result", "hit")
+                    .description("Tokens served from the verified-token cache")
+                    .register(registry);
+            FunctionCounter.builder("jwt.verified.cache", jwtUtil, JwtUtil::getVerifiedCacheMisses)
+                    .tag("result", "miss")
+                    .description("Tokens that required signature verification")
+                    .register(registry);
+            Gauge.builder("jwt.verified.cache.size", jwtUtil, JwtUtil::getVerifiedCacheSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(ObjectProvider<PasswordEncoder> passwordEncoder) {
+        return registry -> {
+            if (passwordEncoder.getIfAvailable() instanceof BoundedPasswordEncoder encoder) {
+                Gauge.builder("password.hashing.active", encoder, BoundedPasswordEncoder::getActiveTasks)
+                        .register(registry);
+                Gauge.builder("password.hashing.queued", encoder, BoundedPasswordEncoder::getQueuedTasks)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder loginThrottleMetrics(LoginThrottle loginThrottle) {
+        return registry -> {
+            FunctionCounter.builder("login.attempts", loginThrottle, LoginThrottle::getAllowedAttempts)
+                    .tag("result", "allowed")
+                    .register(registry);
+            FunctionCounter.builder("login.attempts", loginThrottle, LoginThrottle::getThrottledAttempts)
+                    .tag("result", "throttled")
+                    .register(registry);
+            Gauge.builder("login.throttle.keys", loginThrottle, LoginThrottle::getTrackedKeys)
+                    .register(registry);
+        };
+    }
+}
\ No newline at end of file
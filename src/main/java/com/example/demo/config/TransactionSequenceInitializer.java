@@ -0,0 +1,41 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wyrownuje sekwencje transaction_seq z istniejacymi wierszami. Tabela transaction byla wczesniej
+ * numerowana przez IDENTITY, a ddl-auto=update tworzy sekwencje od 1 - bez tego pierwsze
+ * wygenerowane id kolidowaloby z istniejacymi danymi.
+ */
+@Component
+public class TransactionSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Wymusza kolejnosc: schemat (w tym sekwencja) musi juz istniec
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transaction", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR transaction_seq", Long.class);
+
+        if (maxId != null && next != null && next <= maxId + Transaction.ID_ALLOCATION_SIZE) {
+            // Optymalizator pooled traktuje wartosc sekwencji jako gorna granice bloku
+            long restartWith = maxId + Transaction.ID_ALLOCATION_SIZE + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE transaction_seq RESTART WITH " + restartWith);
+            log.info("transaction_seq restarted at {} (max existing id {})", restartWith, maxId);
+        }
+    }
+}
\ No newline at end of file
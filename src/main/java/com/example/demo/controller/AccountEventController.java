@@ -0,0 +1,31 @@
+package com.example.demo.controller;
+
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.stream.AccountEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+public class AccountEventController {
+
+    @Autowired
+    private AccountEventBroadcaster accountEventBroadcaster;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@AuthenticationPrincipal JwtPrincipal principal) {
+        SseEmitter emitter = accountEventBroadcaster.subscribe(principal.getUserId());
+        // X-Accel-Buffering: nginx nie buforuje strumienia
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
\ No newline at end of file
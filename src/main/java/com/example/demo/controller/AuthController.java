@@ -1,14 +1,16 @@
 package com.example.demo.controller;
 
+import com.example.demo.exception.PasswordHashingRejectedException;
+import com.example.demo.model.LoginResponse;
 import com.example.demo.model.User;
-import com.example.demo.security.JwtUtil;
+import com.example.demo.service.LoginService;
+import com.example.demo.service.TokenService;
 import com.example.demo.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -19,10 +21,10 @@ import java.util.Map;
 public class AuthController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginService loginService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private TokenService tokenService;
 
     @Autowired
     private UserService userService;
@@ -35,6 +37,8 @@ public class AuthController {
             response.put("message", "User registered successfully");
             response.put("userId", created.getId());
             return new ResponseEntity<>(response, HttpStatus.CREATED);
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -43,30 +47,30 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
-        try {
-            String username = credentials.get("username");
-            String password = credentials.get("password");
-
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password)
-            );
-
-            User user = userService.getUserByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials, HttpServletRequest request) {
+        // Pole "username" zawsze bylo weryfikowane jako email (CustomUserDetailsService)
+        String username = credentials.getOrDefault("email", credentials.get("username"));
+        String password = credentials.get("password");
 
-            String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+        try {
+            LoginResponse tokens = loginService.login(username, password, request.getRemoteAddr());
 
             Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
+            response.put("token", tokens.getToken());
+            response.put("refreshToken", tokens.getRefreshToken());
             response.put("username", username);
-            response.put("userId", user.getId());
+            response.put("userId", tokens.getUserId());
 
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
+        } catch (BadCredentialsException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Invalid credentials");
             return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
         }
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@RequestBody Map<String, String> payload) {
+        return ResponseEntity.ok(tokenService.refresh(payload.get("refreshToken")));
+    }
 }
\ No newline at end of file
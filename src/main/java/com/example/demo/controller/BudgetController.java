@@ -1,19 +1,27 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BudgetSummaryDTO;
+import com.example.demo.dto.BudgetUsageReport;
 import com.example.demo.dto.SpendingByCategoryDTO;
 import com.example.demo.model.Budget;
 import com.example.demo.model.User;
 import com.example.demo.service.BudgetAnalyticsService;
 import com.example.demo.service.BudgetService;
+import com.example.demo.service.IdempotencyService;
+import com.example.demo.service.ReportService;
 import com.example.demo.service.TransactionService;
+import com.example.demo.service.UserDataVersionService;
 import com.example.demo.service.UserService;
-import com.example.demo.security.JwtUtil;
+import com.example.demo.security.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -30,27 +38,37 @@ public class BudgetController {
     private UserService userService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private BudgetAnalyticsService budgetAnalyticsService;
 
     @Autowired
-    private BudgetAnalyticsService budgetAnalyticsService;
+    private ReportService reportService;
 
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
     @PostMapping
-    public ResponseEntity<Budget> createBudget(@RequestBody Budget budget, @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
-        User user = userService.getUserById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        budget.setUser(user);
-        Budget created = budgetService.createBudget(budget);
-        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    public ResponseEntity<?> createBudget(@RequestBody Budget budget,
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                          @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal.getUserId();
+        return idempotencyService.execute(userId, idempotencyKey, "POST /api/budgets", budget, () -> {
+            User user = userService.getUserById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            budget.setUser(user);
+            Budget created = budgetService.createBudget(budget);
+            return new ResponseEntity<>(created, HttpStatus.CREATED);
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Budget> getBudgetById(@PathVariable Long id, @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+    public ResponseEntity<Budget> getBudgetById(@PathVariable Long id, @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal.getUserId();
         return budgetService.getBudgetById(id)
                 .filter(budget -> budget.getUser().getId().equals(userId))
                 .map(budget -> new ResponseEntity<>(budget, HttpStatus.OK))
@@ -58,18 +76,19 @@ public class BudgetController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Budget>> getAllBudgets(@RequestHeader("Authorization") String authHeader) {
-        System.out.println("Getting budgets, auth header: " + authHeader);
-        Long userId = getUserIdFromToken(authHeader);
-        System.out.println("Extracted userId: " + userId);
+    public ResponseEntity<List<Budget>> getAllBudgets(@AuthenticationPrincipal JwtPrincipal principal, WebRequest webRequest) {
+        Long userId = principal.getUserId();
+        String etag = userDataVersionService.currentEtag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
         List<Budget> budgets = budgetService.getBudgetsByUserId(userId);
-        System.out.println("Found budgets: " + budgets.size());
-        return new ResponseEntity<>(budgets, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(budgets);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Budget> updateBudget(@PathVariable Long id, @RequestBody Budget budget, @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+    public ResponseEntity<Budget> updateBudget(@PathVariable Long id, @RequestBody Budget budget, @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal.getUserId();
         try {
             Budget existing = budgetService.getBudgetById(id)
                     .filter(b -> b.getUser().getId().equals(userId))
@@ -82,13 +101,13 @@ public class BudgetController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBudget(@PathVariable Long id, @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long id, @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal.getUserId();
         try {
             Budget budget = budgetService.getBudgetById(id)
                     .filter(b -> b.getUser().getId().equals(userId))
                     .orElseThrow(() -> new RuntimeException("Budget not found"));
-            budgetService.deleteBudget(id);
+            budgetService.deleteBudget(id, userId);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -98,54 +117,66 @@ public class BudgetController {
     @GetMapping("/{budgetId}/spent")
     public ResponseEntity<BigDecimal> getTotalSpentForBudget(
             @PathVariable Long budgetId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
 
-        budgetService.getBudgetById(budgetId)
-                .filter(b -> b.getUser().getId().equals(userId))
+        // Jeden odczyt budget_totals po kluczu, z kontrola wlasciciela
+        BigDecimal totalSpent = budgetAnalyticsService.calculateTotalSpent(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
 
-        BigDecimal totalSpent = budgetAnalyticsService.calculateTotalSpent(budgetId);
-
         return new ResponseEntity<>(totalSpent, HttpStatus.OK);
     }
 
     @GetMapping("/{budgetId}/earned")
     public ResponseEntity<BigDecimal> getTotalIncomeForBudget(
             @PathVariable Long budgetId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
 
-        budgetService.getBudgetById(budgetId)
-                .filter(b -> b.getUser().getId().equals(userId))
+        // Jeden odczyt budget_totals po kluczu, z kontrola wlasciciela
+        BigDecimal totalIncome = budgetAnalyticsService.calculateTotalIncome(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
 
-        BigDecimal totalIncome = budgetAnalyticsService.calculateTotalIncome(budgetId);
-
         return new ResponseEntity<>(totalIncome, HttpStatus.OK);
     }
 
     @GetMapping("/{budgetId}/balance")
     public ResponseEntity<BigDecimal> getBalanceForBudget(
             @PathVariable Long budgetId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
 
-        budgetService.getBudgetById(budgetId)
-                .filter(b -> b.getUser().getId().equals(userId))
+        // Jeden odczyt budget_totals po kluczu, z kontrola wlasciciela
+        BigDecimal balance = budgetAnalyticsService.calculateBalance(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
 
-        BigDecimal balance = budgetAnalyticsService.calculateBalance(budgetId);
-
         return new ResponseEntity<>(balance, HttpStatus.OK);
     }
 
+    // Wykorzystanie limitow wszystkich budzetow uzytkownika - jedno zapytanie grupujace
+    @GetMapping("/usage")
+    public ResponseEntity<List<BudgetUsageReport>> getBudgetUsage(@AuthenticationPrincipal JwtPrincipal principal) {
+        return new ResponseEntity<>(budgetAnalyticsService.getUsageReports(principal.getUserId()), HttpStatus.OK);
+    }
+
+    // Widget pulpitu: przychody, wydatki, liczba transakcji i saldo jednym zapytaniem
+    @GetMapping("/{budgetId}/summary")
+    public ResponseEntity<BudgetSummaryDTO> getBudgetSummary(
+            @PathVariable Long budgetId,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        // Cudzy i nieistniejacy budzet wygladaja tak samo - 404
+        return reportService.getBudgetSummary(budgetId, principal.getUserId())
+                .map(summary -> new ResponseEntity<>(summary, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     @GetMapping("/{budgetId}/spending-by-category")
-    public ResponseEntity<List<SpendingByCategoryDTO>> getSpendingByCategory(@PathVariable Long budgetId, @RequestHeader("Authorization") String authHeader) {
-        Long userId = getUserIdFromToken(authHeader);
+    public ResponseEntity<List<SpendingByCategoryDTO>> getSpendingByCategory(@PathVariable Long budgetId, @AuthenticationPrincipal JwtPrincipal principal) {
+        Long userId = principal.getUserId();
 
         try {
             List<SpendingByCategoryDTO> spendingData = transactionService.getSpendingByCategory(budgetId, userId); // <-- Przekazujemy userId
@@ -154,9 +185,4 @@ public class BudgetController {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
     }
-
-    private Long getUserIdFromToken(String authHeader) {
-        String token = authHeader.substring(7);
-        return jwtUtil.extractUserId(token);
-    }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.Category;
-import com.example.demo.security.JwtUtil;
+import com.example.demo.security.JwtPrincipal;
 import com.example.demo.service.CategoryService;
+import com.example.demo.service.UserDataVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -19,33 +23,33 @@ public class CategoryController {
     private CategoryService categoryService;
 
     @Autowired
-    private JwtUtil jwtUtil;
-
-    private Long getUserIdFromToken(String authHeader) {
-        String token = authHeader.substring(7);
-        return jwtUtil.extractUserId(token);
-    }
+    private UserDataVersionService userDataVersionService;
 
     @GetMapping
     public ResponseEntity<List<Category>> getCategories(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
 
-        Long userId = getUserIdFromToken(authHeader); // Pobranie userId
+        Long userId = principal.getUserId(); // Pobranie userId
+        String etag = userDataVersionService.currentEtag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
         List<Category> categories = categoryService.getAvailableCategories(userId);
-        return new ResponseEntity<>(categories, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(categories);
     }
 
     @PostMapping
     public ResponseEntity<Category> createCategory(
             @RequestBody Map<String, String> payload,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
         String name = payload.get("name");
         if (name == null || name.trim().isEmpty()) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
 
-        Long userId = getUserIdFromToken(authHeader); // Pobranie userId
+        Long userId = principal.getUserId(); // Pobranie userId
 
         try {
             Category newCategory = categoryService.createCustomCategory(name, userId);
@@ -0,0 +1,63 @@
+package com.example.demo.controller;
+
+import com.example.demo.importer.ImportJob;
+import com.example.demo.importer.StatementFormat;
+import com.example.demo.importer.StatementImportService;
+import com.example.demo.security.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @PostMapping
+    public ResponseEntity<ImportJob> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Long budgetId,
+            @RequestParam(defaultValue = "UTF-8") String charset,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        StatementFormat statementFormat = null;
+        if (format != null && !format.isBlank()) {
+            try {
+                statementFormat = StatementFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported statement format: " + format);
+            }
+        }
+
+        Charset fileCharset;
+        try {
+            fileCharset = Charset.forName(charset);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new IllegalArgumentException("Unsupported charset: " + charset);
+        }
+
+        ImportJob job = statementImportService.startImport(file, statementFormat, budgetId, fileCharset, principal.getUserId());
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> getImportProgress(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        return statementImportService.getJob(jobId, principal.getUserId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
\ No newline at end of file
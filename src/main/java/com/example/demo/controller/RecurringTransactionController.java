@@ -0,0 +1,59 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.RecurringTransactionDTO;
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.service.RecurringTransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+public class RecurringTransactionController {
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionDTO> createRecurringTransaction(
+            @RequestBody RecurringTransactionDTO request,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        try {
+            // Wystapienia wygeneruje nocny przebieg (RecurringTransactionMaterializer)
+            RecurringTransactionDTO created = recurringTransactionService.createRecurringTransaction(request, principal.getUserId());
+            return new ResponseEntity<>(created, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            // Bledne pola definicji - komunikat zwraca GlobalExceptionHandler (400)
+            throw e;
+        } catch (RuntimeException e) {
+            // Kategoria lub budzet nie istnieje albo nie nalezy do uzytkownika
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionDTO>> getRecurringTransactions(
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        List<RecurringTransactionDTO> definitions = recurringTransactionService.getRecurringTransactions(principal.getUserId());
+        return new ResponseEntity<>(definitions, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecurringTransaction(
+            @PathVariable Long id,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        try {
+            recurringTransactionService.deleteRecurringTransaction(id, principal.getUserId());
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
\ No newline at end of file
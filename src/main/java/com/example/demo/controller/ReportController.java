@@ -2,10 +2,13 @@ package com.example.demo.controller;
 
 import com.example.demo.dto.BudgetSummaryDTO;
 import com.example.demo.dto.SpendingByCategoryDTO;
+import com.example.demo.security.JwtPrincipal;
 import com.example.demo.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -19,8 +22,14 @@ public class ReportController {
     private ReportService reportService;
 
     @GetMapping("/budget/{budgetId}/summary")
-    public ResponseEntity<BudgetSummaryDTO> getBudgetSummary(@PathVariable Long budgetId) {
-        return ResponseEntity.ok(reportService.getBudgetSummary(budgetId));
+    public ResponseEntity<BudgetSummaryDTO> getBudgetSummary(
+            @PathVariable Long budgetId,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        // Cudzy i nieistniejacy budzet wygladaja tak samo - 404
+        return reportService.getBudgetSummary(budgetId, principal.getUserId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/budget/{budgetId}/spending-by-category")
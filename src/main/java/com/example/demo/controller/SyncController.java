@@ -0,0 +1,30 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.SyncResponse;
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestParam(defaultValue = "0") long since,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        SyncResponse response = syncService.changesSince(principal.getUserId(), since);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
\ No newline at end of file
@@ -1,19 +1,43 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.BulkOperationResult;
+import com.example.demo.dto.BulkTransactionRequest;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.dto.TransactionFilter;
 import com.example.demo.model.Budget;
 import com.example.demo.model.Category; // DODANO: Import Category
 import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.service.IdempotencyService;
+import com.example.demo.service.TransactionBatchService;
+import com.example.demo.service.TransactionExportService;
+import com.example.demo.service.TransactionExportService.ExportFormat;
+import com.example.demo.service.TransactionSearchService;
 import com.example.demo.service.TransactionService;
 import com.example.demo.service.CategoryService; // DODANO: Import CategoryService
+import com.example.demo.service.UserDataVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import com.example.demo.model.User;
-import com.example.demo.service.UserService;
-import com.example.demo.security.JwtUtil;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.example.demo.security.JwtPrincipal;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -22,31 +46,38 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    // DODANO: Wstrzyknięcie CategoryService
     @Autowired
-    private UserService userService;
+    private CategoryService categoryService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private TransactionExportService transactionExportService;
 
-    // DODANO: Wstrzyknięcie CategoryService
     @Autowired
-    private CategoryService categoryService;
+    private TransactionBatchService transactionBatchService;
 
-    private Long getUserIdFromToken(String authHeader) {
-        String token = authHeader.substring(7);
-        return jwtUtil.extractUserId(token);
-    }
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private UserDataVersionService userDataVersionService;
 
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(
+    public ResponseEntity<?> createTransaction(
             @RequestBody Transaction transaction,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
-        User user = userService.getUserById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        Long userId = principal.getUserId();
+        // Powtorzony request z tym samym kluczem dostaje oryginalna odpowiedz zamiast tworzyc duplikat
+        return idempotencyService.execute(userId, idempotencyKey, "POST /api/transactions", transaction,
+                () -> doCreateTransaction(transaction, userId));
+    }
 
-        transaction.setUser(user);
+    private ResponseEntity<TransactionDTO> doCreateTransaction(Transaction transaction, Long userId) {
 
         // 1. Ustawienie Budżetu (tworzymy obiekt z samym ID)
         if (transaction.getBudget() != null && transaction.getBudget().getId() != null) {
@@ -64,7 +95,7 @@ public class TransactionController {
 
 
         try {
-            Transaction created = transactionService.createTransaction(transaction, userId);
+            TransactionDTO created = transactionService.createTransaction(transaction, userId);
             return new ResponseEntity<>(created, HttpStatus.CREATED);
         } catch (RuntimeException e) {
             // Zwracamy BAD_REQUEST dla błędów walidacji (np. kategoria nie należy do użytkownika)
@@ -72,29 +103,66 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTransactionsBatch(
+            @RequestBody List<Transaction> transactions,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        Long userId = principal.getUserId();
+        return idempotencyService.execute(userId, idempotencyKey, "POST /api/transactions/batch", transactions, () -> {
+            // Wynik per pozycja - odrzucone pozycje nie blokuja zapisu pozostalych
+            List<BatchItemResult> results = transactionBatchService.createTransactions(transactions, userId);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        });
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkOperationResult> deleteTransactions(
+            @RequestBody BulkTransactionRequest request,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        // Jedno DELETE ograniczone do transakcji uzytkownika; brak wyboru -> 400 (GlobalExceptionHandler)
+        BulkOperationResult result = transactionService.deleteTransactions(request, principal.getUserId());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping("/bulk-recategorize")
+    public ResponseEntity<BulkOperationResult> recategorizeTransactions(
+            @RequestBody BulkTransactionRequest request,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        BulkOperationResult result = transactionService.recategorizeTransactions(request, principal.getUserId());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Transaction> getTransactionById(
+    public ResponseEntity<TransactionDTO> getTransactionById(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
 
-        return transactionService.getTransactionById(id)
-                .filter(t -> t.getUser().getId().equals(userId))
+        return transactionService.getTransactionDto(id, userId)
                 .map(transaction -> new ResponseEntity<>(transaction, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/budget/{budgetId}")
-    public ResponseEntity<List<Transaction>> getAllTransactionsByBudgetId(
+    public ResponseEntity<CursorPage<TransactionDTO>> getAllTransactionsByBudgetId(
             @PathVariable Long budgetId,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
         try {
             // Serwis teraz waliduje dostęp do budżetu
-            List<Transaction> transactions = transactionService.getTransactionsByBudgetId(budgetId, userId);
-            return new ResponseEntity<>(transactions, HttpStatus.OK);
+            CursorPage<TransactionDTO> page = transactionService.getTransactionPageByBudgetId(budgetId, userId, cursor, size);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            // Nieprawidlowy kursor lub rozmiar strony - obsluguje GlobalExceptionHandler (400)
+            throw e;
         } catch (RuntimeException e) {
             // Błąd dostępu do budżetu (np. nie istnieje lub nie należy do użytkownika)
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -102,21 +170,100 @@ public class TransactionController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Transaction>> getAllTransactions(
-            @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<CursorPage<TransactionDTO>> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal JwtPrincipal principal,
+            WebRequest webRequest) {
+
+        Long userId = principal.getUserId();
+        // Niezmienione dane: 304 bez zapytania do bazy i bez serializacji
+        String etag = userDataVersionService.currentEtag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        }
+
+        CursorPage<TransactionDTO> page = transactionService.getTransactionPageByUserId(userId, cursor, size);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(page);
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<CursorPage<TransactionDTO>> filterTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(name = "categoryId", required = false) Set<Long> categoryIds,
+            @RequestParam(required = false) Long budgetId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        TransactionFilter filter = new TransactionFilter();
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setType(type);
+        filter.setCategoryIds(categoryIds);
+        filter.setBudgetId(budgetId);
+        filter.setMinAmount(minAmount);
+        filter.setMaxAmount(maxAmount);
+
+        // Budzet innego uzytkownika nie wymaga osobnej walidacji - filtr po user_id zwroci pusta strone
+        CursorPage<TransactionDTO> page = transactionService.filterTransactions(principal.getUserId(), filter, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionDTO>> searchTransactions(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        // Wyniki od najlepiej dopasowanych; puste zapytanie lub niepoprawny limit obsluguje GlobalExceptionHandler (400)
+        List<TransactionDTO> results = transactionSearchService.search(principal.getUserId(), query, limit);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long budgetId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        transactionExportService.validateRange(from, to);
+
+        Long userId = principal.getUserId();
+        // Zapytanie filtruje po user_id, wiec cudzy budgetId daje po prostu pusty eksport
+        StreamingResponseBody body = out ->
+                transactionExportService.export(userId, budgetId, from, to, exportFormat, out);
+
+        MediaType mediaType = exportFormat == ExportFormat.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson");
+        String fileName = "transactions." + exportFormat.name().toLowerCase(Locale.ROOT);
 
-        Long userId = getUserIdFromToken(authHeader);
-        List<Transaction> transactions = transactionService.getTransactionsByUserId(userId);
-        return new ResponseEntity<>(transactions, HttpStatus.OK);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Transaction> updateTransaction(
+    public ResponseEntity<TransactionDTO> updateTransaction(
             @PathVariable Long id,
             @RequestBody Transaction transaction,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
 
         // NOWA LOGIKA: Walidacja Kategorii przed wysłaniem do serwisu
         if (transaction.getCategory() == null || transaction.getCategory().getId() == null) {
@@ -136,7 +283,7 @@ public class TransactionController {
 
         try {
             // Serwis zweryfikuje właściciela transakcji, budżetu i kategorii
-            Transaction updated = transactionService.updateTransaction(id, transaction, userId);
+            TransactionDTO updated = transactionService.updateTransaction(id, transaction, userId);
             return new ResponseEntity<>(updated, HttpStatus.OK);
         } catch (RuntimeException e) {
             // W przypadku błędów walidacji (np. Transaction not found)
@@ -147,9 +294,9 @@ public class TransactionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long userId = getUserIdFromToken(authHeader);
+        Long userId = principal.getUserId();
 
         try {
             transactionService.deleteTransaction(id, userId);
@@ -1,18 +1,21 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.LoginRequest;
-import com.example.demo.model.LoginResponse;
 import com.example.demo.model.PasswordChangeRequest;
 import com.example.demo.model.User;
-import com.example.demo.security.JwtUtil;
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.service.LoginService;
+import com.example.demo.service.TokenService;
 import com.example.demo.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,10 +25,10 @@ public class UserController {
     private UserService userService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private TokenService tokenService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private LoginService loginService;
 
     @PostMapping("/register")
     public ResponseEntity<User> registerUser(@RequestBody User user) {
@@ -33,25 +36,20 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody LoginRequest request) {
-        Optional<User> user = userService.getUserByEmail(request.getEmail());
-
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid email or password");
-        }
-
-        if (!passwordEncoder.matches(request.getPassword(), user.get().getPassword())) {
+    public ResponseEntity<?> loginUser(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        try {
+            return ResponseEntity.ok(loginService.login(request.getEmail(), request.getPassword(), httpRequest.getRemoteAddr()));
+        } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid email or password");
         }
-
-        String token = jwtUtil.generateToken(user.get().getEmail(), user.get().getId());
-        return ResponseEntity.ok(new LoginResponse(token, user.get().getEmail()));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logoutUser() {
+    public ResponseEntity<Void> logoutUser(
+            @AuthenticationPrincipal JwtPrincipal principal,
+            @RequestBody(required = false) Map<String, String> payload) {
+        tokenService.logout(principal, payload != null ? payload.get("refreshToken") : null);
         return ResponseEntity.ok().build();
     }
 
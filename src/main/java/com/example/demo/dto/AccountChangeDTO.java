@@ -0,0 +1,29 @@
+package com.example.demo.dto;
+
+/**
+ * Tresc zdarzenia "change" w strumieniu SSE. {@code id} jest null dla zmian masowych (import,
+ * operacje bulk) - klient powinien wtedy odswiezyc cala liste.
+ */
+public class AccountChangeDTO {
+    private final String entity;
+    private final String kind;
+    private final Long id;
+
+    public AccountChangeDTO(String entity, String kind, Long id) {
+        this.entity = entity;
+        this.kind = kind;
+        this.id = id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.demo.dto;
+
+public class BatchItemResult {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private Long id;
+    private String error;
+
+    public static BatchItemResult created(int index, Long id) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.status = CREATED;
+        result.id = id;
+        return result;
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.status = REJECTED;
+        result.error = error;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
\ No newline at end of file
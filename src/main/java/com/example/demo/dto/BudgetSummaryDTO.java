@@ -5,9 +5,30 @@ import java.math.BigDecimal;
 public class BudgetSummaryDTO {
     private Long budgetId;
     private String budgetName;
+    private BigDecimal totalLimit;
     private BigDecimal totalSpent;
+    private BigDecimal totalIncome;
+    private long transactionCount;
+    private BigDecimal balance;
     private BigDecimal remainingAmount;
 
+    public BudgetSummaryDTO() {
+    }
+
+    // Constructor expression z BudgetRepository.findSummary - sumy z jednego warunkowego SUM
+    public BudgetSummaryDTO(Long budgetId, String budgetName, BigDecimal totalLimit, BigDecimal totalIncome,
+                            BigDecimal totalSpent, Long transactionCount) {
+        this.budgetId = budgetId;
+        this.budgetName = budgetName;
+        this.totalLimit = totalLimit;
+        this.totalIncome = totalIncome != null ? totalIncome : BigDecimal.ZERO;
+        this.totalSpent = totalSpent != null ? totalSpent : BigDecimal.ZERO;
+        this.transactionCount = transactionCount != null ? transactionCount : 0L;
+        this.balance = this.totalIncome.subtract(this.totalSpent);
+        // Limit minus wydatki; budzety sprzed limitow - to, co nie zostalo wydane z wplywow
+        this.remainingAmount = totalLimit != null ? totalLimit.subtract(this.totalSpent) : this.balance;
+    }
+
     public Long getBudgetId() {
         return budgetId;
     }
@@ -24,6 +45,14 @@ public class BudgetSummaryDTO {
         this.budgetName = budgetName;
     }
 
+    public BigDecimal getTotalLimit() {
+        return totalLimit;
+    }
+
+    public void setTotalLimit(BigDecimal totalLimit) {
+        this.totalLimit = totalLimit;
+    }
+
     public BigDecimal getTotalSpent() {
         return totalSpent;
     }
@@ -32,6 +61,30 @@ public class BudgetSummaryDTO {
         this.totalSpent = totalSpent;
     }
 
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public void setTotalIncome(BigDecimal totalIncome) {
+        this.totalIncome = totalIncome;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
     public BigDecimal getRemainingAmount() {
         return remainingAmount;
     }
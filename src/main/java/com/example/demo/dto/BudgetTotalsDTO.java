@@ -0,0 +1,35 @@
+package com.example.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sumy wydatkow i przychodow budzetu - to samo co /spent, /earned i /balance, ale dla wszystkich
+ * budzetow uzytkownika jednym zapytaniem.
+ */
+public class BudgetTotalsDTO {
+    private final Long budgetId;
+    private final BigDecimal spent;
+    private final BigDecimal earned;
+
+    public BudgetTotalsDTO(Long budgetId, BigDecimal spent, BigDecimal earned) {
+        this.budgetId = budgetId;
+        this.spent = spent != null ? spent : BigDecimal.ZERO;
+        this.earned = earned != null ? earned : BigDecimal.ZERO;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public BigDecimal getEarned() {
+        return earned;
+    }
+
+    public BigDecimal getBalance() {
+        return earned.subtract(spent);
+    }
+}
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.example.demo.dto;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 
 public class BudgetUsageReport {
+    public static final String STATUS_ON_TRACK = "ON_TRACK";
+    public static final String STATUS_NEAR_LIMIT = "NEAR_LIMIT";
+    public static final String STATUS_OVER_LIMIT = "OVER_LIMIT";
+    // Budzety sprzed wprowadzenia limitow
+    public static final String STATUS_NO_LIMIT = "NO_LIMIT";
+
     private Long budgetId;
     private String budgetName;
+    private BigDecimal limit;
     private BigDecimal spent;
     private BigDecimal remaining;
     private Double percentageUsed;
@@ -13,12 +21,36 @@ public class BudgetUsageReport {
     private LocalDate startDate;
     private LocalDate endDate;
 
+    public BudgetUsageReport() {
+    }
+
+    // Constructor expression z BudgetRepository.findUsageByUserId; status ustawia BudgetAnalyticsService
+    public BudgetUsageReport(Long budgetId, String budgetName, BigDecimal limit, LocalDate startDate, LocalDate endDate,
+                             BigDecimal spent) {
+        this.budgetId = budgetId;
+        this.budgetName = budgetName;
+        this.limit = limit;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.spent = spent != null ? spent : BigDecimal.ZERO;
+        if (limit != null && limit.signum() > 0) {
+            this.remaining = limit.subtract(this.spent);
+            this.percentageUsed = this.spent
+                    .multiply(BigDecimal.valueOf(100))
+                    .divide(limit, 2, RoundingMode.HALF_UP)
+                    .doubleValue();
+        }
+    }
+
     public Long getBudgetId() { return budgetId; }
     public void setBudgetId(Long budgetId) { this.budgetId = budgetId; }
 
     public String getBudgetName() { return budgetName; }
     public void setBudgetName(String budgetName) { this.budgetName = budgetName; }
 
+    public BigDecimal getLimit() { return limit; }
+    public void setLimit(BigDecimal limit) { this.limit = limit; }
+
     public BigDecimal getSpent() { return spent; }
     public void setSpent(BigDecimal spent) { this.spent = spent; }
 
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+public class BulkOperationResult {
+    private final int affected;
+
+    public BulkOperationResult(int affected) {
+        this.affected = affected;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Wybor transakcji dla operacji masowych: lista id, filtr albo oba naraz (warunki lacza sie AND).
+ * {@code categoryId} uzywane tylko przy zmianie kategorii.
+ */
+public class BulkTransactionRequest {
+    private List<Long> ids;
+    private TransactionFilter filter;
+    private Long categoryId;
+
+    public BulkTransactionRequest() {
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public TransactionFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(TransactionFilter filter) {
+        this.filter = filter;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.RecurrenceFrequency;
+import com.example.demo.model.RecurringTransaction;
+import com.example.demo.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Definicja transakcji cyklicznej w API - kategoria i budzet jako same id.
+ */
+public class RecurringTransactionDTO {
+    private Long id;
+    private BigDecimal amount;
+    private String description;
+    private TransactionType type;
+    private RecurrenceFrequency frequency;
+    private Integer repeatInterval;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate nextOccurrence;
+    private Long categoryId;
+    private Long budgetId;
+
+    public RecurringTransactionDTO() {
+    }
+
+    // getId() na proxy LAZY nie wymaga zapytania
+    public static RecurringTransactionDTO from(RecurringTransaction recurring) {
+        RecurringTransactionDTO dto = new RecurringTransactionDTO();
+        dto.setId(recurring.getId());
+        dto.setAmount(recurring.getAmount());
+        dto.setDescription(recurring.getDescription());
+        dto.setType(recurring.getType());
+        dto.setFrequency(recurring.getFrequency());
+        dto.setRepeatInterval(recurring.getRepeatInterval());
+        dto.setStartDate(recurring.getStartDate());
+        dto.setEndDate(recurring.getEndDate());
+        dto.setNextOccurrence(recurring.getNextOccurrence());
+        dto.setCategoryId(recurring.getCategory().getId());
+        dto.setBudgetId(recurring.getBudget() != null ? recurring.getBudget().getId() : null);
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(Integer repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDate nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(Long budgetId) {
+        this.budgetId = budgetId;
+    }
+}
\ No newline at end of file
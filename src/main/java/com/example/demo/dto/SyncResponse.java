@@ -0,0 +1,60 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+
+import java.util.List;
+
+/**
+ * Odpowiedz GET /api/sync. Klient zapisuje {@code version} i przy kolejnej synchronizacji wysyla
+ * ja jako {@code since}. Przy {@code full == true} listy zawieraja caly stan konta i lokalna kopie
+ * nalezy nimi zastapic; inaczej to tylko zmiany (upsert) i id usunietych rekordow.
+ */
+public class SyncResponse {
+    private final long version;
+    private final boolean full;
+    private final List<TransactionDTO> transactions;
+    private final List<Budget> budgets;
+    private final List<Category> categories;
+    private final List<Long> deletedTransactionIds;
+    private final List<Long> deletedBudgetIds;
+
+    public SyncResponse(long version, boolean full, List<TransactionDTO> transactions, List<Budget> budgets,
+                        List<Category> categories, List<Long> deletedTransactionIds, List<Long> deletedBudgetIds) {
+        this.version = version;
+        this.full = full;
+        this.transactions = transactions;
+        this.budgets = budgets;
+        this.categories = categories;
+        this.deletedTransactionIds = deletedTransactionIds;
+        this.deletedBudgetIds = deletedBudgetIds;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public List<Budget> getBudgets() {
+        return budgets;
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public List<Long> getDeletedTransactionIds() {
+        return deletedTransactionIds;
+    }
+
+    public List<Long> getDeletedBudgetIds() {
+        return deletedBudgetIds;
+    }
+}
\ No newline at end of file
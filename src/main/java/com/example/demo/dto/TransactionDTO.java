@@ -0,0 +1,93 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Widok transakcji do odczytu. Budowany wprost w zapytaniu JPQL (constructor expression),
+ * wiec lista N transakcji to jedno zapytanie, a Jackson nie dotyka encji ani proxy.
+ */
+public class TransactionDTO {
+
+    public static class Ref {
+        private final Long id;
+        private final String name;
+
+        public Ref(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final Long id;
+    private final BigDecimal amount;
+    private final String description;
+    private final TransactionType type;
+    private final LocalDateTime date;
+    private final Ref category;
+    private final Ref budget;
+
+    public TransactionDTO(Long id, BigDecimal amount, String description, TransactionType type, LocalDateTime date,
+                          Long categoryId, String categoryName, Long budgetId, String budgetName) {
+        this.id = id;
+        this.amount = amount;
+        this.description = description;
+        this.type = type;
+        this.date = date;
+        this.category = categoryId != null ? new Ref(categoryId, categoryName) : null;
+        this.budget = budgetId != null ? new Ref(budgetId, budgetName) : null;
+    }
+
+    public static TransactionDTO from(Transaction transaction) {
+        return new TransactionDTO(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getDescription(),
+                transaction.getType(),
+                transaction.getDate(),
+                transaction.getCategory() != null ? transaction.getCategory().getId() : null,
+                transaction.getCategory() != null ? transaction.getCategory().getName() : null,
+                transaction.getBudget() != null ? transaction.getBudget().getId() : null,
+                transaction.getBudget() != null ? transaction.getBudget().getName() : null
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public Ref getCategory() {
+        return category;
+    }
+
+    public Ref getBudget() {
+        return budget;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Kryteria filtrowania transakcji. Puste pole oznacza brak ograniczenia; daty sa wlacznie.
+ */
+public class TransactionFilter {
+    private LocalDate from;
+    private LocalDate to;
+    private TransactionType type;
+    private Set<Long> categoryIds;
+    private Long budgetId;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    public TransactionFilter() {
+    }
+
+    // Brak jakiegokolwiek kryterium - operacje masowe odrzucaja taki filtr
+    public boolean isEmpty() {
+        return from == null && to == null && type == null
+                && (categoryIds == null || categoryIds.isEmpty())
+                && budgetId == null && minAmount == null && maxAmount == null;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public Set<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    public void setCategoryIds(Set<Long> categoryIds) {
+        this.categoryIds = categoryIds;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(Long budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.demo.event;
+
+/**
+ * Publikowany po utworzeniu, zmianie lub usunieciu budzetu; sluchacze dostaja go po commicie.
+ */
+public class BudgetChangedEvent {
+
+    public enum Kind { SAVED, DELETED }
+
+    private final Kind kind;
+    private final Long userId;
+    private final Long budgetId;
+
+    private BudgetChangedEvent(Kind kind, Long userId, Long budgetId) {
+        this.kind = kind;
+        this.userId = userId;
+        this.budgetId = budgetId;
+    }
+
+    public static BudgetChangedEvent saved(Long budgetId, Long userId) {
+        return new BudgetChangedEvent(Kind.SAVED, userId, budgetId);
+    }
+
+    public static BudgetChangedEvent deleted(Long budgetId, Long userId) {
+        return new BudgetChangedEvent(Kind.DELETED, userId, budgetId);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publikowany po zapisie lub usunieciu transakcji. Sluchacze z {@code @TransactionalEventListener}
+ * dostaja go dopiero po commicie. BULK oznacza wiele zmian naraz (np. import) bez szczegolow.
+ */
+public class TransactionChangedEvent {
+
+    public enum Kind { SAVED, DELETED, BULK }
+
+    private final Kind kind;
+    private final Long userId;
+    private final Long transactionId;
+    private final String description;
+    private final LocalDateTime date;
+
+    private TransactionChangedEvent(Kind kind, Long userId, Long transactionId, String description, LocalDateTime date) {
+        this.kind = kind;
+        this.userId = userId;
+        this.transactionId = transactionId;
+        this.description = description;
+        this.date = date;
+    }
+
+    public static TransactionChangedEvent saved(Transaction transaction, Long userId) {
+        return new TransactionChangedEvent(Kind.SAVED, userId, transaction.getId(), transaction.getDescription(), transaction.getDate());
+    }
+
+    public static TransactionChangedEvent deleted(Long transactionId, Long userId) {
+        return new TransactionChangedEvent(Kind.DELETED, userId, transactionId, null, null);
+    }
+
+    public static TransactionChangedEvent bulk(Long userId) {
+        return new TransactionChangedEvent(Kind.BULK, userId, null, null, null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.demo.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,12 +23,52 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidToken(InvalidTokenException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        return buildRetryLaterResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, 1);
+    }
+
+    @ExceptionHandler(ImportRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleImportRejected(ImportRejectedException ex) {
+        return buildRetryLaterResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, 30);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotentRequestInProgress(IdempotentRequestInProgressException ex) {
+        return buildRetryLaterResponse(ex.getMessage(), HttpStatus.CONFLICT, 1);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Map<String, Object>> handleLoginThrottled(LoginThrottledException ex) {
+        return buildRetryLaterResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, ex.getRetryAfterSeconds());
+    }
+
     private ResponseEntity<Map<String, Object>> buildErrorResponse(String message, HttpStatus status) {
+        return new ResponseEntity<>(buildErrorBody(message, status), status);
+    }
+
+    private ResponseEntity<Map<String, Object>> buildRetryLaterResponse(String message, HttpStatus status, long retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(buildErrorBody(message, status));
+    }
+
+    private Map<String, Object> buildErrorBody(String message, HttpStatus status) {
         Map<String, Object> error = new HashMap<>();
         error.put("timestamp", LocalDateTime.now());
         error.put("status", status.value());
         error.put("error", status.getReasonPhrase());
         error.put("message", message);
-        return new ResponseEntity<>(error, status);
+        return error;
     }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
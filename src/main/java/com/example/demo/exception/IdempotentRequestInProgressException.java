@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
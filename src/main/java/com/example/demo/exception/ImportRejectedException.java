@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class ImportRejectedException extends RuntimeException {
+    public ImportRejectedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.demo.importer;
+
+import com.example.demo.model.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV z naglowkiem (separator "," lub ";", pola w cudzyslowach wg RFC 4180).
+ * Wymagane kolumny: data i kwota; opcjonalnie opis, kategoria i typ.
+ */
+class CsvStatementParser implements StatementParser {
+
+    // Zabezpieczenie przed niezamknietym cudzyslowem, ktory "zjadlby" reszte pliku
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private long lineNumber;
+    private boolean headerRead;
+    private char delimiter = ',';
+    private int dateColumn = -1;
+    private int amountColumn = -1;
+    private int descriptionColumn = -1;
+    private int categoryColumn = -1;
+    private int typeColumn = -1;
+
+    CsvStatementParser(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = lineNumber + 1;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        BigDecimal signedAmount = StatementValues.parseAmount(field(fields, amountColumn), recordLine);
+        TransactionType type = parseType(field(fields, typeColumn), signedAmount, recordLine);
+
+        return new StatementRecord(
+                recordLine,
+                StatementValues.parseDate(field(fields, dateColumn), recordLine),
+                signedAmount.abs(),
+                type,
+                StatementValues.description(field(fields, descriptionColumn)),
+                StatementValues.emptyToNull(field(fields, categoryColumn))
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        headerRead = true;
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        lineNumber++;
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+        delimiter = count(header, ';') > count(header, ',') ? ';' : ',';
+
+        List<String> columns = split(header);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date", "data", "transaction date", "booking date", "data operacji" -> dateColumn = i;
+                case "amount", "kwota", "value" -> amountColumn = i;
+                case "description", "opis", "title", "tytul", "payee", "name" -> {
+                    if (descriptionColumn < 0) {
+                        descriptionColumn = i;
+                    }
+                }
+                case "category", "kategoria" -> categoryColumn = i;
+                case "type", "typ" -> typeColumn = i;
+                default -> {
+                    // kolumna pomijana
+                }
+            }
+        }
+        if (dateColumn < 0 || amountColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain date and amount columns");
+        }
+    }
+
+    private TransactionType parseType(String value, BigDecimal signedAmount, long recordLine) {
+        if (value == null || value.isBlank()) {
+            return StatementValues.typeOf(signedAmount);
+        }
+        try {
+            return TransactionType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new StatementParseException(recordLine, "Unknown transaction type: " + value.trim());
+        }
+    }
+
+    // Rekord moze obejmowac kilka linii, jesli pole w cudzyslowie zawiera znak nowej linii
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        long startLine = lineNumber;
+
+        StringBuilder record = new StringBuilder(line);
+        while (!quotesBalanced(record)) {
+            String continuation = reader.readLine();
+            if (continuation == null || record.length() > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("Unterminated quoted field starting at line " + startLine);
+            }
+            lineNumber++;
+            record.append('\n').append(continuation);
+        }
+        return split(record);
+    }
+
+    private List<String> split(CharSequence record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static boolean quotesBalanced(CharSequence record) {
+        return count(record, '"') % 2 == 0;
+    }
+
+    private static int count(CharSequence text, char c) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.example.demo.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stan zadania importu. Aktualizowany przez watek importu, odczytywany przez endpoint postepu.
+ */
+public class ImportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public static class LineError {
+        private final long line;
+        private final String message;
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final String id;
+    private final Long userId;
+    private final StatementFormat format;
+    private final String fileName;
+    private final int maxReportedErrors;
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicLong processedRecords = new AtomicLong();
+    private final AtomicLong importedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    // Zapisujemy tylko pierwsze bledy - liczba wszystkich jest w errorCount
+    private final List<LineError> errors = new ArrayList<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String failureReason;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public ImportJob(String id, Long userId, StatementFormat format, String fileName, int maxReportedErrors) {
+        this.id = id;
+        this.userId = userId;
+        this.format = format;
+        this.fileName = fileName;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        failureReason = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void recordProcessed() {
+        processedRecords.incrementAndGet();
+    }
+
+    void recordImported(int count) {
+        importedCount.addAndGet(count);
+    }
+
+    void recordError(long line, String message) {
+        errorCount.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, message));
+            }
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public Long getUserId() {
+        return userId;
+    }
+
+    public StatementFormat getFormat() {
+        return format;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public long getProcessedRecords() {
+        return processedRecords.get();
+    }
+
+    public long getImportedCount() {
+        return importedCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public List<LineError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
\ No newline at end of file
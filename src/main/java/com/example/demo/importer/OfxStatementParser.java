@@ -0,0 +1,156 @@
+package com.example.demo.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * OFX/QFX w wariancie SGML (bez znacznikow zamykajacych) i XML. Czyta strumien znak po znaku
+ * i zwraca kolejne bloki STMTTRN, pomijajac reszte dokumentu.
+ */
+class OfxStatementParser implements StatementParser {
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private final BufferedReader reader;
+    private long lineNumber = 1;
+    private int pushedBack = -1;
+
+    OfxStatementParser(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        String tag;
+        // Przewijamy do poczatku nastepnej transakcji
+        do {
+            tag = nextTag();
+            if (tag == null) {
+                return null;
+            }
+        } while (!tag.equals("STMTTRN"));
+
+        long recordLine = lineNumber;
+        String posted = null;
+        String amount = null;
+        String name = null;
+        String memo = null;
+
+        while ((tag = nextTag()) != null && !tag.equals("/STMTTRN")) {
+            if (tag.startsWith("/")) {
+                continue;
+            }
+            String value = readValue();
+            if (value.isEmpty()) {
+                // agregat (np. <PAYEE> z polami podrzednymi) - wartosci beda w kolejnych znacznikach
+                continue;
+            }
+            switch (tag) {
+                case "DTPOSTED" -> posted = value;
+                case "TRNAMT" -> amount = value;
+                case "NAME", "PAYEE" -> name = value;
+                case "MEMO" -> memo = value;
+                default -> {
+                    // TRNTYPE, FITID, CHECKNUM itd. - pomijane
+                }
+            }
+        }
+
+        BigDecimal signedAmount = StatementValues.parseAmount(amount, recordLine);
+        return new StatementRecord(
+                recordLine,
+                parseOfxDate(posted, recordLine),
+                signedAmount.abs(),
+                StatementValues.typeOf(signedAmount),
+                StatementValues.description(name, memo),
+                null
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Nazwa nastepnego znacznika (bez < >) albo null na koncu strumienia
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // tekst poza znacznikami (naglowek OFX, wartosci pominietych pol)
+        }
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder();
+        while ((c = read()) != -1 && c != '>') {
+            if (tag.length() < MAX_TOKEN_LENGTH) {
+                tag.append((char) c);
+            }
+        }
+        return tag.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Tekst do nastepnego '<'; sam znak '<' zostaje do odczytu przez nextTag()
+    private String readValue() throws IOException {
+        StringBuilder value = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            if (value.length() < MAX_TOKEN_LENGTH) {
+                value.append((char) c);
+            }
+        }
+        if (c == '<') {
+            pushedBack = c;
+        }
+        return decodeEntities(value.toString().trim());
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        int c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private static String decodeEntities(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    // Format OFX: YYYYMMDD[HHMMSS[.XXX]][[+-]TZ:NAZWA] - strefa czasowa jest pomijana
+    private static LocalDateTime parseOfxDate(String value, long recordLine) {
+        if (value == null || value.length() < 8) {
+            throw new StatementParseException(recordLine, "Missing or invalid DTPOSTED: " + value);
+        }
+        try {
+            LocalDate date = LocalDate.of(
+                    Integer.parseInt(value.substring(0, 4)),
+                    Integer.parseInt(value.substring(4, 6)),
+                    Integer.parseInt(value.substring(6, 8)));
+            if (value.length() >= 14 && Character.isDigit(value.charAt(8))) {
+                return date.atTime(
+                        Integer.parseInt(value.substring(8, 10)),
+                        Integer.parseInt(value.substring(10, 12)),
+                        Integer.parseInt(value.substring(12, 14)));
+            }
+            return date.atStartOfDay();
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new StatementParseException(recordLine, "Invalid DTPOSTED: " + value);
+        }
+    }
+}
\ No newline at end of file
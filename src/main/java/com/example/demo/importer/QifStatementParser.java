@@ -0,0 +1,119 @@
+package com.example.demo.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Quicken Interchange Format: pola rekordu w osobnych liniach (D data, T kwota, P odbiorca,
+ * M notatka, L kategoria), rekord konczy linia "^".
+ */
+class QifStatementParser implements StatementParser {
+
+    private static final DateTimeFormatter US_DATE = DateTimeFormatter.ofPattern("M/d/yyyy");
+    private static final DateTimeFormatter US_SHORT_DATE = DateTimeFormatter.ofPattern("M/d/yy");
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    QifStatementParser(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public StatementRecord next() throws IOException {
+        String date = null;
+        String amount = null;
+        String payee = null;
+        String memo = null;
+        String category = null;
+        long recordLine = -1;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.charAt(0) == '!') {
+                continue;
+            }
+            if (recordLine < 0) {
+                recordLine = lineNumber;
+            }
+
+            char code = line.charAt(0);
+            String value = line.substring(1).trim();
+            switch (code) {
+                case 'D' -> date = value;
+                case 'T' -> amount = value;
+                case 'U' -> {
+                    if (amount == null) {
+                        amount = value;
+                    }
+                }
+                case 'P' -> payee = value;
+                case 'M' -> memo = value;
+                case 'L' -> category = categoryName(value);
+                case '^' -> {
+                    return toRecord(recordLine, date, amount, payee, memo, category);
+                }
+                default -> {
+                    // numer, status, adres, podzialy - pomijane
+                }
+            }
+        }
+
+        // Ostatni rekord bez koncowego "^"
+        if (recordLine >= 0 && (date != null || amount != null)) {
+            return toRecord(recordLine, date, amount, payee, memo, category);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private StatementRecord toRecord(long recordLine, String date, String amount, String payee, String memo, String category) {
+        BigDecimal signedAmount = StatementValues.parseAmount(amount, recordLine);
+        return new StatementRecord(
+                recordLine,
+                parseQifDate(date, recordLine),
+                signedAmount.abs(),
+                StatementValues.typeOf(signedAmount),
+                StatementValues.description(payee, memo),
+                category
+        );
+    }
+
+    // "Groceries:Food" -> "Groceries"; "[Savings]" oznacza przelew na konto, nie kategorie
+    private static String categoryName(String value) {
+        if (value.isEmpty() || value.startsWith("[")) {
+            return null;
+        }
+        int subcategory = value.indexOf(':');
+        return StatementValues.emptyToNull(subcategory > 0 ? value.substring(0, subcategory) : value);
+    }
+
+    // Quicken zapisuje daty po 2000 r. jako 1/15'25 lub z odstepami " 1/15/25"
+    private static LocalDateTime parseQifDate(String value, long recordLine) {
+        if (value == null || value.isBlank()) {
+            throw new StatementParseException(recordLine, "Missing date");
+        }
+        String normalized = value.replace(" ", "").replace('\'', '/');
+        try {
+            return LocalDate.parse(normalized, US_DATE).atStartOfDay();
+        } catch (DateTimeParseException ignored) {
+            // dwucyfrowy rok albo inny format
+        }
+        try {
+            return LocalDate.parse(normalized, US_SHORT_DATE).atStartOfDay();
+        } catch (DateTimeParseException ignored) {
+            return StatementValues.parseDate(value, recordLine);
+        }
+    }
+}
\ No newline at end of file
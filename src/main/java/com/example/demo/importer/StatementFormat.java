@@ -0,0 +1,29 @@
+package com.example.demo.importer;
+
+import java.io.Reader;
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV, OFX, QIF;
+
+    public StatementParser newParser(Reader reader) {
+        return switch (this) {
+            case CSV -> new CsvStatementParser(reader);
+            case OFX -> new OfxStatementParser(reader);
+            case QIF -> new QifStatementParser(reader);
+        };
+    }
+
+    public static StatementFormat fromFileName(String fileName) {
+        if (fileName != null) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+                return OFX;
+            }
+            if (lower.endsWith(".qif")) {
+                return QIF;
+            }
+        }
+        return CSV;
+    }
+}
\ No newline at end of file
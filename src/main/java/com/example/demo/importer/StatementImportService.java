@@ -0,0 +1,293 @@
+package com.example.demo.importer;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.exception.ImportRejectedException;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.service.BudgetTotalsService;
+import com.example.demo.service.ChangeSequenceService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Import wyciagow bankowych w tle. Plik jest kopiowany na dysk, parsowany przyrostowo
+ * i zapisywany porcjami po {@code chunkSize} wierszy - kazda porcja w osobnej transakcji,
+ * z czyszczeniem kontekstu JPA, wiec pamiec nie rosnie z rozmiarem pliku.
+ * Bledne pozycje sa raportowane w zadaniu i nie przerywaja importu; porcja, ktorej zapis
+ * sie nie powiodl, jest powtarzana wiersz po wierszu, wiec odrzucane sa tylko bledne wiersze.
+ */
+@Service
+public class StatementImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementImportService.class);
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private BudgetTotalsService budgetTotalsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transactions.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${transactions.import.threads:2}")
+    private int threads;
+
+    @Value("${transactions.import.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${transactions.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${transactions.import.fallback-category:Other}")
+    private String fallbackCategory;
+
+    @Value("${transactions.import.job-retention-hours:24}")
+    private long jobRetentionHours;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+    private Cache<String, ImportJob> jobs;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "statement-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(jobRetentionHours))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJob startImport(MultipartFile file, StatementFormat format, Long budgetId, Charset charset, Long userId) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Statement file must not be empty");
+        }
+        if (budgetId != null && !budgetRepository.existsByIdAndUserId(budgetId, userId)) {
+            throw new IllegalArgumentException("Budget not found or access denied.");
+        }
+
+        StatementFormat resolvedFormat = format != null ? format : StatementFormat.fromFileName(file.getOriginalFilename());
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, resolvedFormat,
+                file.getOriginalFilename(), maxReportedErrors);
+
+        // Multipart znika po zakonczeniu requestu - watek importu czyta z wlasnej kopii
+        Path copy;
+        try {
+            copy = Files.createTempFile("statement-import-", ".tmp");
+            file.transferTo(copy);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not store uploaded statement", e);
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> runImport(job, copy, charset, budgetId));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            deleteQuietly(copy);
+            throw new ImportRejectedException("Too many imports in progress, try again later");
+        }
+        return job;
+    }
+
+    public Optional<ImportJob> getJob(String jobId, Long userId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    void runImport(ImportJob job, Path file, Charset charset, Long budgetId) {
+        job.start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), charset), 64 * 1024);
+             StatementParser parser = job.getFormat().newParser(reader)) {
+
+            Map<String, Long> categories = loadCategories(job.getUserId());
+            Long fallbackCategoryId = categories.get(fallbackCategory.toLowerCase(Locale.ROOT));
+
+            List<StatementRecord> chunk = new ArrayList<>(chunkSize);
+            List<Long> chunkCategories = new ArrayList<>(chunkSize);
+
+            while (true) {
+                StatementRecord record;
+                try {
+                    record = parser.next();
+                } catch (StatementParseException e) {
+                    job.recordProcessed();
+                    job.recordError(e.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                job.recordProcessed();
+
+                Long categoryId = record.getCategory() != null
+                        ? categories.getOrDefault(record.getCategory().toLowerCase(Locale.ROOT), fallbackCategoryId)
+                        : fallbackCategoryId;
+                if (categoryId == null) {
+                    job.recordError(record.getLineNumber(), "Unknown category: " + record.getCategory());
+                    continue;
+                }
+
+                chunk.add(record);
+                chunkCategories.add(categoryId);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(job, chunk, chunkCategories, budgetId);
+                    chunk.clear();
+                    chunkCategories.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(job, chunk, chunkCategories, budgetId);
+            }
+            job.complete();
+        } catch (Exception e) {
+            log.warn("Statement import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    // Nazwa (bez wielkosci liter) -> id; kategoria uzytkownika ma pierwszenstwo przed domyslna
+    private Map<String, Long> loadCategories(Long userId) {
+        Map<String, Long> byName = new HashMap<>();
+        for (Category category : categoryRepository.findDefaultAndUserCategories(userId)) {
+            String key = category.getName().toLowerCase(Locale.ROOT);
+            if (category.getUser() != null) {
+                byName.put(key, category.getId());
+            } else {
+                byName.putIfAbsent(key, category.getId());
+            }
+        }
+        return byName;
+    }
+
+    private void writeChunk(ImportJob job, List<StatementRecord> records, List<Long> categoryIds, Long budgetId) {
+        try {
+            persistChunk(job, records, categoryIds, budgetId);
+            job.recordImported(records.size());
+        } catch (RuntimeException e) {
+            if (records.size() == 1) {
+                job.recordError(records.get(0).getLineNumber(), "Could not save transaction: " + e.getMessage());
+                return;
+            }
+            // Porcja wycofana w calosci - zapisujemy ja jeszcze raz wiersz po wierszu,
+            // zeby odrzucic tylko bledne pozycje, a nie cala porcje
+            log.warn("Statement import {} chunk starting at line {} failed, retrying row by row",
+                    job.getId(), records.get(0).getLineNumber(), e);
+            for (int i = 0; i < records.size(); i++) {
+                StatementRecord record = records.get(i);
+                try {
+                    persistChunk(job, List.of(record), List.of(categoryIds.get(i)), budgetId);
+                    job.recordImported(1);
+                } catch (RuntimeException rowError) {
+                    job.recordError(record.getLineNumber(), "Could not save transaction: " + rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private void persistChunk(ImportJob job, List<StatementRecord> records, List<Long> categoryIds, Long budgetId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = entityManager.getReference(User.class, job.getUserId());
+            Budget budget = budgetId != null ? entityManager.getReference(Budget.class, budgetId) : null;
+            long changeSeq = changeSequenceService.next(job.getUserId());
+            BudgetTotalsService.Delta totals = new BudgetTotalsService.Delta();
+
+            for (int i = 0; i < records.size(); i++) {
+                StatementRecord record = records.get(i);
+                Transaction transaction = new Transaction();
+                transaction.setUser(user);
+                transaction.setBudget(budget);
+                transaction.setCategory(entityManager.getReference(Category.class, categoryIds.get(i)));
+                transaction.setAmount(record.getAmount());
+                transaction.setType(record.getType());
+                transaction.setDescription(record.getDescription());
+                transaction.setDate(record.getDate());
+                transaction.setChangeSeq(changeSeq);
+                entityManager.persist(transaction);
+                totals.add(budgetId, record.getType(), record.getAmount());
+            }
+            entityManager.flush();
+            budgetTotalsService.apply(totals);
+            entityManager.clear();
+            eventPublisher.publishEvent(TransactionChangedEvent.bulk(job.getUserId()));
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary import file {}", file, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.demo.importer;
+
+/**
+ * Blad pojedynczej pozycji wyciagu. Parser pozostaje w poprawnym stanie i mozna czytac dalej.
+ */
+public class StatementParseException extends RuntimeException {
+
+    private final long lineNumber;
+
+    public StatementParseException(long lineNumber, String message) {
+        super(message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.demo.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Przyrostowy parser wyciagu bankowego - czyta po jednej pozycji, bez ladowania pliku do pamieci.
+ */
+public interface StatementParser extends Closeable {
+
+    /**
+     * Zwraca nastepna pozycje albo null na koncu pliku. Bledna pozycja konczy sie
+     * {@link StatementParseException}; kolejne wywolanie przechodzi do nastepnej pozycji.
+     * Bledy calego pliku (np. brak wymaganych kolumn) sa zglaszane jako IllegalArgumentException.
+     */
+    StatementRecord next() throws IOException;
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.demo.importer;
+
+import com.example.demo.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Jedna pozycja wyciagu po sparsowaniu. Kwota jest zawsze dodatnia, kierunek okresla {@code type}.
+ */
+public class StatementRecord {
+
+    private final long lineNumber;
+    private final LocalDateTime date;
+    private final BigDecimal amount;
+    private final TransactionType type;
+    private final String description;
+    private final String category;
+
+    public StatementRecord(long lineNumber, LocalDateTime date, BigDecimal amount, TransactionType type,
+                           String description, String category) {
+        this.lineNumber = lineNumber;
+        this.date = date;
+        this.amount = amount;
+        this.type = type;
+        this.description = description;
+        this.category = category;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+}
\ No newline at end of file
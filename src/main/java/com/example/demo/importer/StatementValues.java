@@ -0,0 +1,102 @@
+package com.example.demo.importer;
+
+import com.example.demo.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Wspolne parsowanie dat i kwot dla wszystkich formatow wyciagow.
+ */
+final class StatementValues {
+
+    static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd.MM.yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yyyy"),
+            DateTimeFormatter.BASIC_ISO_DATE
+    );
+
+    private StatementValues() {
+    }
+
+    static LocalDateTime parseDate(String value, long lineNumber) {
+        if (value == null || value.isBlank()) {
+            throw new StatementParseException(lineNumber, "Missing date");
+        }
+        String trimmed = value.trim();
+        try {
+            return LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException ignored) {
+            // nie data z czasem - probujemy formatow samej daty
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(trimmed, format).atStartOfDay();
+            } catch (DateTimeParseException ignored) {
+                // nastepny format
+            }
+        }
+        throw new StatementParseException(lineNumber, "Unrecognized date: " + trimmed);
+    }
+
+    /**
+     * Kwota ze znakiem; akceptuje separator dziesietny "," lub "." i separatory tysiecy.
+     */
+    static BigDecimal parseAmount(String value, long lineNumber) {
+        if (value == null || value.isBlank()) {
+            throw new StatementParseException(lineNumber, "Missing amount");
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c) || c == '-' || c == '+' || c == '.' || c == ',') {
+                digits.append(c);
+            }
+        }
+        String normalized = digits.toString();
+        int lastComma = normalized.lastIndexOf(',');
+        int lastDot = normalized.lastIndexOf('.');
+        if (lastComma > lastDot) {
+            normalized = normalized.replace(".", "").replace(',', '.');
+        } else {
+            normalized = normalized.replace(",", "");
+        }
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new StatementParseException(lineNumber, "Invalid amount: " + value.trim());
+        }
+    }
+
+    static TransactionType typeOf(BigDecimal signedAmount) {
+        return signedAmount.signum() > 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+    }
+
+    static String description(String... parts) {
+        StringBuilder text = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (!text.isEmpty()) {
+                    text.append(" - ");
+                }
+                text.append(part.trim());
+            }
+        }
+        if (text.length() > MAX_DESCRIPTION_LENGTH) {
+            text.setLength(MAX_DESCRIPTION_LENGTH);
+        }
+        return text.isEmpty() ? null : text.toString();
+    }
+
+    static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
\ No newline at end of file
@@ -2,13 +2,19 @@ package com.example.demo.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "budget")
+@Table(name = "budget", indexes = {
+        @Index(name = "idx_budget_user_change_seq", columnList = "user_id, change_seq")
+})
+// Jak w Transaction: usuniety budzet zostaje jako znacznik dla synchronizacji
+@SQLRestriction("deleted = false")
 public class Budget {
 
     public Budget() {
@@ -22,8 +28,9 @@ public class Budget {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
     private User user;
 
     @Column(nullable = false)
@@ -35,10 +42,23 @@ public class Budget {
     @Column(name = "end_date", nullable = true)
     private LocalDate endDate;
 
+    // Wymagany przez BudgetValidator; w bazie nullable, bo budzety sprzed limitow go nie maja
+    @Column(name = "budget_limit", precision = 19, scale = 2)
+    private BigDecimal limit;
+
     @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Transaction> transactions = new ArrayList<>();
 
+    @JsonIgnore
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean deleted;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -54,6 +74,15 @@ public class Budget {
     public LocalDate getEndDate() { return endDate; }
     public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
 
+    public BigDecimal getLimit() { return limit; }
+    public void setLimit(BigDecimal limit) { this.limit = limit; }
+
     public List<Transaction> getTransactions() { return transactions; }
     public void setTransactions(List<Transaction> transactions) { this.transactions = transactions; }
+
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.demo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Sumy transakcji budzetu utrzymywane przyrostowo (BudgetTotalsService) - /spent, /earned
+ * i /balance to odczyt jednego wiersza po kluczu zamiast SUM po transakcjach. Kwoty w groszach.
+ */
+@Entity
+@Table(name = "budget_totals")
+public class BudgetTotals {
+
+    @Id
+    @Column(name = "budget_id")
+    private Long budgetId;
+
+    @Column(name = "income_minor", nullable = false)
+    private long incomeMinor;
+
+    @Column(name = "expense_minor", nullable = false)
+    private long expenseMinor;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    public BudgetTotals() {
+    }
+
+    public BudgetTotals(Long budgetId, long incomeMinor, long expenseMinor, long transactionCount) {
+        this.budgetId = budgetId;
+        this.incomeMinor = incomeMinor;
+        this.expenseMinor = expenseMinor;
+        this.transactionCount = transactionCount;
+    }
+
+    public Long getBudgetId() { return budgetId; }
+    public void setBudgetId(Long budgetId) { this.budgetId = budgetId; }
+
+    public long getIncomeMinor() { return incomeMinor; }
+    public void setIncomeMinor(long incomeMinor) { this.incomeMinor = incomeMinor; }
+
+    public long getExpenseMinor() { return expenseMinor; }
+    public void setExpenseMinor(long expenseMinor) { this.expenseMinor = expenseMinor; }
+
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+}
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_user_change_seq", columnList = "user_id, change_seq")
+})
 public class Category {
 
     @Id
@@ -16,10 +19,16 @@ public class Category {
     // Kategoria jest powiązana z użytkownikiem, ale null dla kategorii domyślnych/wbudowanych
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnore
     private User user; // Jeśli user jest null, to jest to kategoria domyślna
 
     private boolean isDefault = false;
 
+    // Numer zmiany dla synchronizacji; null dla kategorii domyslnych
+    @JsonIgnore
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     public Long getId() {
         return id;
     }
@@ -54,6 +63,14 @@ public class Category {
         this.isDefault = isDefault;
     }
 
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     // --- Konstruktory ---
 
     // Konstruktor używany do tworzenia obiektu z samym ID (dla referencji JPA/Controller)
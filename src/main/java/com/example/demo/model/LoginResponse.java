@@ -2,13 +2,28 @@ package com.example.demo.model;
 
 public class LoginResponse {
     private String token;
+    private String refreshToken;
     private String email;
+    private Long userId;
 
     public LoginResponse(String token, String email) {
         this.token = token;
         this.email = email;
     }
 
+    public LoginResponse(String token, String refreshToken, String email) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.email = email;
+    }
+
+    public LoginResponse(String token, String refreshToken, String email, Long userId) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.email = email;
+        this.userId = userId;
+    }
+
     public String getToken() {
         return token;
     }
@@ -17,6 +32,14 @@ public class LoginResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -24,4 +47,12 @@ public class LoginResponse {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.demo.model;
+
+import java.time.LocalDate;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    // Liczone zawsze od daty startu, nie od poprzedniego wystapienia - 31. dzien miesiaca
+    // nie "przesuwa sie" na 28. po lutym
+    public LocalDate occurrence(LocalDate start, int interval, long index) {
+        long steps = index * interval;
+        return switch (this) {
+            case DAILY -> start.plusDays(steps);
+            case WEEKLY -> start.plusWeeks(steps);
+            case MONTHLY -> start.plusMonths(steps);
+            case YEARLY -> start.plusYears(steps);
+        };
+    }
+}
\ No newline at end of file
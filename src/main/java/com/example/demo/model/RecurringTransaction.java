@@ -0,0 +1,129 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Definicja transakcji cyklicznej (np. czynsz co miesiac). Wystapienia sa zapisywane jako zwykle
+ * transakcje przez {@link com.example.demo.service.RecurringTransactionMaterializer};
+ * {@code nextOccurrence} wskazuje pierwsze jeszcze niewygenerowane wystapienie.
+ */
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_next_occurrence", columnList = "next_occurrence, id"),
+        @Index(name = "idx_recurring_user", columnList = "user_id")
+})
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id")
+    private Budget budget;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+
+    // Co ile jednostek czestotliwosci (np. 2 + WEEKLY = co dwa tygodnie)
+    @Column(name = "repeat_interval", nullable = false)
+    private int repeatInterval = 1;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Liczba juz wygenerowanych wystapien - kolejne liczone sa od startDate
+    @Column(name = "occurrence_count", nullable = false)
+    private long occurrenceCount;
+
+    // null gdy definicja sie zakonczyla
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    public RecurringTransaction() {}
+
+    public Transaction newOccurrence() {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setBudget(budget);
+        transaction.setAmount(amount);
+        transaction.setDescription(description);
+        transaction.setType(type);
+        transaction.setDate(nextOccurrence.atStartOfDay());
+        transaction.setRecurringId(id);
+        transaction.setOccurrenceDate(nextOccurrence);
+        return transaction;
+    }
+
+    public void advance() {
+        occurrenceCount++;
+        LocalDate next = frequency.occurrence(startDate, repeatInterval, occurrenceCount);
+        nextOccurrence = endDate != null && next.isAfter(endDate) ? null : next;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+
+    public Budget getBudget() { return budget; }
+    public void setBudget(Budget budget) { this.budget = budget; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public RecurrenceFrequency getFrequency() { return frequency; }
+    public void setFrequency(RecurrenceFrequency frequency) { this.frequency = frequency; }
+
+    public int getRepeatInterval() { return repeatInterval; }
+    public void setRepeatInterval(int repeatInterval) { this.repeatInterval = repeatInterval; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public long getOccurrenceCount() { return occurrenceCount; }
+    public void setOccurrenceCount(long occurrenceCount) { this.occurrenceCount = occurrenceCount; }
+
+    public LocalDate getNextOccurrence() { return nextOccurrence; }
+    public void setNextOccurrence(LocalDate nextOccurrence) { this.nextOccurrence = nextOccurrence; }
+}
\ No newline at end of file
@@ -2,28 +2,45 @@ package com.example.demo.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+        @Index(name = "idx_transaction_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_transaction_budget_date_id", columnList = "budget_id, date, id"),
+        @Index(name = "idx_transaction_budget_type", columnList = "budget_id, type"),
+        @Index(name = "idx_transaction_user_change_seq", columnList = "user_id, change_seq")
+}, uniqueConstraints = {
+        // Jedno wystapienie transakcji cyklicznej na dzien - ponowne uruchomienie nie tworzy duplikatow
+        @UniqueConstraint(name = "uk_transaction_recurring_occurrence", columnNames = {"recurring_id", "occurrence_date"})
+})
+// Usuniete transakcje zostaja jako znaczniki dla synchronizacji - wszystkie zapytania JPQL ich nie widza
+@SQLRestriction("deleted = false")
 public class Transaction {
 
+    // Sekwencja z pula (pooled) zamiast IDENTITY - pozwala Hibernate grupowac INSERT-y w batch JDBC
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnore
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "budget_id")
     private Budget budget;
 
     // ZMIANA: Pole category jest teraz obiektem Category
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
@@ -40,6 +57,23 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime date;
 
+    // Ustawione tylko dla transakcji wygenerowanych z RecurringTransaction
+    @Column(name = "recurring_id")
+    private Long recurringId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    // Numer zmiany z licznika uzytkownika (User.changeSeq) - GET /api/sync?since=N
+    @JsonIgnore
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean deleted;
+
 
     // ZMIANA: Aktualizacja Gettera
     public Category getCategory() {
@@ -73,4 +107,16 @@ public class Transaction {
 
     public LocalDateTime getDate() { return date; }
     public void setDate(LocalDateTime date) { this.date = date; }
+
+    public Long getRecurringId() { return recurringId; }
+    public void setRecurringId(Long recurringId) { this.recurringId = recurringId; }
+
+    public LocalDate getOccurrenceDate() { return occurrenceDate; }
+    public void setOccurrenceDate(LocalDate occurrenceDate) { this.occurrenceDate = occurrenceDate; }
+
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
 }
\ No newline at end of file
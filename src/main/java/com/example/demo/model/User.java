@@ -1,6 +1,9 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
@@ -22,6 +25,18 @@ public class User {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Tokeny wystawione przed ta chwila sa odrzucane (zmiana hasla)
+    @JsonIgnore
+    @Column(name = "credentials_changed_at")
+    private Instant credentialsChangedAt;
+
+    // Licznik zmian danych uzytkownika; zmieniany tylko UPDATE-em z ChangeSequenceService
+    // (stara wartosc z encji nigdy nie nadpisze licznika)
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private long changeSeq;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -70,4 +85,12 @@ public class User {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Instant getCredentialsChangedAt() {
+        return credentialsChangedAt;
+    }
+
+    public void setCredentialsChangedAt(Instant credentialsChangedAt) {
+        this.credentialsChangedAt = credentialsChangedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.demo.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Kwoty jako long w jednostkach podrzednych (grosze) - tak sa trzymane liczniki w budget_totals.
+ * Konwersja w obie strony jest dokladna: kwota z wieksza liczba miejsc po przecinku niz SCALE
+ * albo poza zakresem long to ArithmeticException, tak samo jak przepelnienie przy dodawaniu.
+ */
+public final class Money {
+
+    // Skala kolumny transaction.amount (NUMERIC(38,2)) - jedna waluta w aplikacji
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        // setScale zwraca ten sam obiekt, gdy skala sie zgadza (typowy wynik z bazy)
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    // Dla kwot przed zapisem - kolumna zaokragli je do SCALE, wiec licznik musi zrobic to samo
+    public static long toMinor(BigDecimal amount, RoundingMode roundingMode) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static long add(long left, long right) {
+        return Math.addExact(left, right);
+    }
+
+    public static long subtract(long left, long right) {
+        return Math.subtractExact(left, right);
+    }
+}
\ No newline at end of file
@@ -1,14 +1,68 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.BudgetSummaryDTO;
+import com.example.demo.dto.BudgetTotalsDTO;
+import com.example.demo.dto.BudgetUsageReport;
 import com.example.demo.model.Budget;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUserId(Long userId);
 
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    List<Budget> findByUserIdAndChangeSeqGreaterThan(Long userId, Long changeSeq);
+
+    @Query("SELECT b.id FROM Budget b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Znaczniki usuniecia - @SQLRestriction ukrywa je w JPQL, stad zapytanie natywne
+    @Query(value = "SELECT id FROM budget WHERE user_id = :userId AND change_seq > :since AND deleted = TRUE",
+            nativeQuery = true)
+    List<Long> findDeletedIdsSince(@Param("userId") Long userId, @Param("since") Long since);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.deleted = true, b.changeSeq = :changeSeq " +
+            "WHERE b.id = :id AND b.user.id = :userId AND b.deleted = false")
+    int markDeleted(@Param("id") Long id, @Param("userId") Long userId, @Param("changeSeq") Long changeSeq);
+
+    @Query("SELECT b.id FROM Budget b WHERE b.user.id = :userId AND b.id IN :ids")
+    Set<Long> findOwnedIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Sumy wszystkich budzetow uzytkownika jednym przejsciem (warunkowe SUM zamiast zapytania na typ)
+    @Query("SELECT new com.example.demo.dto.BudgetTotalsDTO(b.id, " +
+            "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), " +
+            "SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END)) " +
+            "FROM Budget b LEFT JOIN Transaction t ON t.budget = b AND t.deleted = false " +
+            "WHERE b.user.id = :userId GROUP BY b.id")
+    List<BudgetTotalsDTO> findTotalsByUserId(@Param("userId") Long userId);
+
+    // Wykorzystanie limitu wszystkich budzetow uzytkownika jednym zapytaniem grupujacym
+    @Query("SELECT new com.example.demo.dto.BudgetUsageReport(b.id, b.name, b.limit, b.startDate, b.endDate, " +
+            "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END)) " +
+            "FROM Budget b LEFT JOIN Transaction t ON t.budget = b AND t.deleted = false " +
+            "WHERE b.user.id = :userId " +
+            "GROUP BY b.id, b.name, b.limit, b.startDate, b.endDate " +
+            "ORDER BY b.startDate DESC, b.id DESC")
+    List<BudgetUsageReport> findUsageByUserId(@Param("userId") Long userId);
+
+    // Nazwa, sumy, liczba transakcji i saldo budzetu w jednym przejsciu, z kontrola wlasciciela
+    @Query("SELECT new com.example.demo.dto.BudgetSummaryDTO(b.id, b.name, b.limit, " +
+            "SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), " +
+            "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), " +
+            "COUNT(t)) " +
+            "FROM Budget b LEFT JOIN Transaction t ON t.budget = b AND t.deleted = false " +
+            "WHERE b.id = :budgetId AND b.user.id = :userId GROUP BY b.id, b.name, b.limit")
+    Optional<BudgetSummaryDTO> findSummary(@Param("budgetId") Long budgetId, @Param("userId") Long userId);
 }
\ No newline at end of file
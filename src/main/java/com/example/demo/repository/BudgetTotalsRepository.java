@@ -0,0 +1,48 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.BudgetTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BudgetTotalsRepository extends JpaRepository<BudgetTotals, Long> {
+
+    // Atomowa zmiana w bazie - bez odczytu, rownolegle zapisy nie gubia sie nawzajem.
+    // 0 = brak wiersza (budzet sprzed budget_totals), wiersz utworzy uzgadnianie
+    @Modifying
+    @Query("UPDATE BudgetTotals bt SET bt.incomeMinor = bt.incomeMinor + :income, " +
+            "bt.expenseMinor = bt.expenseMinor + :expense, " +
+            "bt.transactionCount = bt.transactionCount + :count " +
+            "WHERE bt.budgetId = :budgetId")
+    int increment(@Param("budgetId") Long budgetId,
+                  @Param("income") long income,
+                  @Param("expense") long expense,
+                  @Param("count") long count);
+
+    // Odczyt z kontrola wlasciciela w jednym zapytaniu po kluczu
+    @Query("SELECT bt FROM BudgetTotals bt JOIN Budget b ON b.id = bt.budgetId " +
+            "WHERE bt.budgetId = :budgetId AND b.user.id = :userId")
+    Optional<BudgetTotals> findOwned(@Param("budgetId") Long budgetId, @Param("userId") Long userId);
+
+    // Zerowy wiersz dla budzetu bez sum (uzgadnianie); 0 = wiersz juz jest albo budzet usuniety
+    @Modifying
+    @Query("INSERT INTO BudgetTotals (budgetId, incomeMinor, expenseMinor, transactionCount) " +
+            "SELECT b.id, 0L, 0L, 0L FROM Budget b WHERE b.id = :budgetId " +
+            "AND NOT EXISTS (SELECT 1 FROM BudgetTotals bt WHERE bt.budgetId = b.id)")
+    int insertIfAbsent(@Param("budgetId") Long budgetId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bt FROM BudgetTotals bt WHERE bt.budgetId = :budgetId")
+    Optional<BudgetTotals> findForUpdate(@Param("budgetId") Long budgetId);
+
+    @Modifying
+    @Query("DELETE FROM BudgetTotals bt WHERE bt.budgetId = :budgetId")
+    int deleteByBudgetId(@Param("budgetId") Long budgetId);
+}
\ No newline at end of file
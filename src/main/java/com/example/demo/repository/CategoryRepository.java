@@ -1,13 +1,16 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Category;
+import com.example.demo.repository.projection.TransactionReferences;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -18,4 +21,22 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByNameAndUserId(String name, Long userId);
 
     Optional<Category> findByNameAndIsDefault(String name, boolean isDefault);
+
+    List<Category> findByUserIdAndChangeSeqGreaterThan(Long userId, Long changeSeq);
+
+    // Kategorie, ktorych uzytkownik moze uzyc: domyslne (bez wlasciciela) lub wlasne
+    @Query("SELECT c.id FROM Category c LEFT JOIN c.user u WHERE c.id IN :ids AND (u IS NULL OR u.id = :userId)")
+    Set<Long> findUsableIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Walidacja zapisu transakcji jednym zapytaniem: brak wiersza = kategoria niedostepna,
+    // budgetId == null w wyniku = budzet nie istnieje lub nie nalezy do uzytkownika
+    @Query("SELECT c.name AS categoryName, b.id AS budgetId, b.name AS budgetName FROM Category c " +
+            "LEFT JOIN c.user u " +
+            "LEFT JOIN Budget b ON b.id = :budgetId AND b.user.id = :userId AND b.deleted = false " +
+            "WHERE c.id = :categoryId AND (u IS NULL OR u.id = :userId)")
+    Optional<TransactionReferences> findTransactionReferences(
+            @Param("categoryId") Long categoryId,
+            @Param("budgetId") Long budgetId,
+            @Param("userId") Long userId
+    );
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    List<RecurringTransaction> findByUserIdOrderByIdAsc(Long userId);
+
+    // Porcja definicji z zaleglymi wystapieniami, keyset po id - jeden przebieg przez wszystkich uzytkownikow.
+    // Definicje przypiete do usunietego budzetu sa pomijane: podzapytanie po Budget dostaje deleted = false
+    // z @SQLRestriction. Nie LEFT JOIN - tam r.budget.id staje sie id z joina, ktore dla usunietego budzetu jest NULL
+    @Query("SELECT r FROM RecurringTransaction r " +
+            "WHERE r.nextOccurrence <= :horizon AND r.id > :afterId " +
+            "AND (r.budget IS NULL OR EXISTS (SELECT b.id FROM Budget b WHERE b.id = r.budget.id)) ORDER BY r.id")
+    List<RecurringTransaction> findDue(
+            @Param("horizon") LocalDate horizon,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Usuniecie budzetu konczy jego definicje cykliczne - brak nastepnego wystapienia
+    @Modifying
+    @Transactional
+    @Query("UPDATE RecurringTransaction r SET r.nextOccurrence = NULL WHERE r.budget.id = :budgetId")
+    int deactivateByBudgetId(@Param("budgetId") Long budgetId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RecurringTransaction r WHERE r.id = :id AND r.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    // Czysty INSERT (save() zrobilby merge) - powtorne odwolanie tego samego jti konczy sie
+    // naruszeniem klucza glownego, takze miedzy instancjami aplikacji
+    @Modifying
+    @Transactional
+    @Query("INSERT INTO RevokedToken (tokenId, userId, expiresAt) VALUES (:tokenId, :userId, :expiresAt)")
+    int insert(@Param("tokenId") String tokenId, @Param("userId") Long userId, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
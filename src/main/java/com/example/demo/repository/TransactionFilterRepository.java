@@ -0,0 +1,23 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TransactionCursor;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Transaction;
+import com.example.demo.repository.projection.BudgetAmounts;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TransactionFilterRepository {
+
+    // Strona DTO (date, id malejaco) dla dowolnej kombinacji warunkow; after == null to pierwsza strona
+    List<TransactionDTO> findFiltered(Specification<Transaction> specification, TransactionCursor after, int limit);
+
+    // Jedno UPDATE dla wszystkich pasujacych wierszy (usuniecie to znacznik deleted); zwraca liczbe zmienionych
+    int deleteMatching(Specification<Transaction> specification, Long changeSeq);
+
+    int updateCategoryMatching(Specification<Transaction> specification, Long categoryId, Long changeSeq);
+
+    // Sumy pasujacych transakcji per budzet (tylko z budzetem) - korekta budget_totals przed usunieciem
+    List<BudgetAmounts> sumByBudgetMatching(Specification<Transaction> specification);
+}
\ No newline at end of file
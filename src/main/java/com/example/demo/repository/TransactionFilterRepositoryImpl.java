@@ -0,0 +1,122 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TransactionCursor;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.repository.projection.BudgetAmounts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class TransactionFilterRepositoryImpl implements TransactionFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // To samo co TRANSACTION_DTO_SELECT, ale z warunkami skladanymi w Criteria API
+    @Override
+    public List<TransactionDTO> findFiltered(Specification<Transaction> specification, TransactionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDTO> query = cb.createQuery(TransactionDTO.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        Join<Transaction, Category> category = transaction.join("category");
+        Join<Transaction, Budget> budget = transaction.join("budget", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification.toPredicate(transaction, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            Path<LocalDateTime> date = transaction.get("date");
+            Path<Long> id = transaction.get("id");
+            predicates.add(cb.or(
+                    cb.lessThan(date, after.getDate()),
+                    cb.and(cb.equal(date, after.getDate()), cb.lessThan(id, after.getId()))
+            ));
+        }
+
+        query.select(cb.construct(TransactionDTO.class,
+                        transaction.get("id"),
+                        transaction.get("amount"),
+                        transaction.get("description"),
+                        transaction.get("type"),
+                        transaction.get("date"),
+                        category.get("id"),
+                        category.get("name"),
+                        budget.get("id"),
+                        budget.get("name")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(transaction.get("date")), cb.desc(transaction.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteMatching(Specification<Transaction> specification, Long changeSeq) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Transaction> update = cb.createCriteriaUpdate(Transaction.class);
+        Root<Transaction> transaction = update.from(Transaction.class);
+        update.set(transaction.<Boolean>get("deleted"), true);
+        update.set(transaction.<Long>get("changeSeq"), changeSeq);
+        update.where(live(specification, transaction, cb));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int updateCategoryMatching(Specification<Transaction> specification, Long categoryId, Long changeSeq) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Transaction> update = cb.createCriteriaUpdate(Transaction.class);
+        Root<Transaction> transaction = update.from(Transaction.class);
+        update.set(transaction.<Category>get("category"), entityManager.getReference(Category.class, categoryId));
+        update.set(transaction.<Long>get("changeSeq"), changeSeq);
+        update.where(live(specification, transaction, cb));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<BudgetAmounts> sumByBudgetMatching(Specification<Transaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BudgetAmounts> query = cb.createQuery(BudgetAmounts.class);
+        Root<Transaction> transaction = query.from(Transaction.class);
+        Join<Transaction, Budget> budget = transaction.join("budget");
+        Path<BigDecimal> amount = transaction.get("amount");
+
+        query.select(cb.construct(BudgetAmounts.class,
+                        budget.get("id"),
+                        cb.sum(cb.<BigDecimal>selectCase()
+                                .when(cb.equal(transaction.get("type"), TransactionType.INCOME), amount)),
+                        cb.sum(cb.<BigDecimal>selectCase()
+                                .when(cb.equal(transaction.get("type"), TransactionType.EXPENSE), amount)),
+                        cb.count(transaction)))
+                .where(specification.toPredicate(transaction, query, cb))
+                .groupBy(budget.get("id"));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // Specification wymaga CriteriaQuery - przy operacjach masowych wystarczy pusty.
+    // Znaczniki usuniecia pomijamy jawnie, zeby nie dostaly nowego numeru zmiany
+    private Predicate live(Specification<Transaction> specification, Root<Transaction> transaction, CriteriaBuilder cb) {
+        return cb.and(
+                specification.toPredicate(transaction, cb.createQuery(Transaction.class), cb),
+                cb.isFalse(transaction.get("deleted")));
+    }
+}
\ No newline at end of file
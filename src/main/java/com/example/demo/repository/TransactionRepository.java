@@ -2,18 +2,30 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Transaction;
 import com.example.demo.model.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import com.example.demo.dto.SpendingByCategoryDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.repository.projection.BudgetAmounts;
+import com.example.demo.repository.projection.TransactionAmount;
+import com.example.demo.repository.projection.TransactionSearchDocument;
 import java.time.LocalDate;
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionFilterRepository {
     List<Transaction> findByUserId(Long userId);
     List<Transaction> findByBudgetId(Long budgetId);
     List<Transaction> findByUserIdAndDateBetween(Long userId, LocalDateTime start, LocalDateTime end);
@@ -40,4 +52,100 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<SpendingByCategoryDTO> findSpendingByCategoryForChart(
             @Param("budgetId") Long budgetId
     );
+
+    String TRANSACTION_DTO_SELECT = "SELECT new com.example.demo.dto.TransactionDTO(" +
+            "t.id, t.amount, t.description, t.type, t.date, c.id, c.name, b.id, b.name) " +
+            "FROM Transaction t JOIN t.category c LEFT JOIN t.budget b ";
+
+    // Stronicowanie keyset po (date, id) malejaco - kazda strona to skan zakresu indeksu
+    // idx_transaction_user_date_id / idx_transaction_budget_date_id, niezaleznie od glebokosci
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(TRANSACTION_DTO_SELECT +
+            "WHERE t.user.id = :userId AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findPageByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.budget.id = :budgetId ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findFirstPageByBudgetId(@Param("budgetId") Long budgetId, Pageable pageable);
+
+    @Query(TRANSACTION_DTO_SELECT +
+            "WHERE t.budget.id = :budgetId AND (t.date < :date OR (t.date = :date AND t.id < :id)) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionDTO> findPageByBudgetIdBefore(
+            @Param("budgetId") Long budgetId,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TransactionDTO> findDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Usuniecie jednym zapytaniem z filtrem po wlascicielu - 0 gdy brak wiersza lub cudza transakcja.
+    // Wiersz zostaje jako znacznik usuniecia dla GET /api/sync
+    @Modifying
+    @Query("UPDATE Transaction t SET t.deleted = true, t.changeSeq = :changeSeq " +
+            "WHERE t.id = :id AND t.user.id = :userId AND t.deleted = false")
+    int markDeletedByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("changeSeq") Long changeSeq);
+
+    // Usuniecie budzetu usuwa jego transakcje (wczesniej kaskada z Budget.transactions)
+    @Modifying
+    @Query("UPDATE Transaction t SET t.deleted = true, t.changeSeq = :changeSeq " +
+            "WHERE t.budget.id = :budgetId AND t.deleted = false")
+    int markDeletedByBudgetId(@Param("budgetId") Long budgetId, @Param("changeSeq") Long changeSeq);
+
+    @Query("SELECT b.id AS budgetId, t.type AS type, t.amount AS amount FROM Transaction t LEFT JOIN t.budget b " +
+            "WHERE t.id = :id AND t.user.id = :userId")
+    Optional<TransactionAmount> findAmountByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Rzeczywiste sumy budzetow - do uzgadniania budget_totals
+    @Query("SELECT new com.example.demo.repository.projection.BudgetAmounts(t.budget.id, " +
+            "SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), " +
+            "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), " +
+            "COUNT(t)) " +
+            "FROM Transaction t WHERE t.budget.id IN :budgetIds GROUP BY t.budget.id")
+    List<BudgetAmounts> sumByBudgetIds(@Param("budgetIds") Collection<Long> budgetIds);
+
+    // Synchronizacja przyrostowa - skan zakresu idx_transaction_user_change_seq
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.user.id = :userId AND t.changeSeq > :since ORDER BY t.changeSeq, t.id")
+    List<TransactionDTO> findChangedSince(@Param("userId") Long userId, @Param("since") Long since);
+
+    @Query(value = "SELECT id FROM transaction WHERE user_id = :userId AND change_seq > :since AND deleted = TRUE",
+            nativeQuery = true)
+    List<Long> findDeletedIdsSince(@Param("userId") Long userId, @Param("since") Long since);
+
+    @Query(TRANSACTION_DTO_SELECT + "WHERE t.id IN :ids AND t.user.id = :userId")
+    List<TransactionDTO> findDtosByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // Budowa indeksu wyszukiwania - tylko kolumny potrzebne do indeksu, bez encji
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.description AS description, t.date AS date FROM Transaction t " +
+            "WHERE t.user.id = :userId AND t.description IS NOT NULL")
+    List<TransactionSearchDocument> findSearchDocumentsByUserId(@Param("userId") Long userId);
+
+    // Eksport: kursor JDBC z fetch size zamiast materializowania calej listy w pamieci.
+    // Strumien musi byc zamkniety i konsumowany wewnatrz transakcji.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category LEFT JOIN FETCH t.budget " +
+            "WHERE t.user.id = :userId " +
+            "AND (:budgetId IS NULL OR t.budget.id = :budgetId) " +
+            "AND (:from IS NULL OR t.date >= :from) " +
+            "AND (:to IS NULL OR t.date < :to) " +
+            "ORDER BY t.date, t.id")
+    Stream<Transaction> streamForExport(
+            @Param("userId") Long userId,
+            @Param("budgetId") Long budgetId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 }
\ No newline at end of file
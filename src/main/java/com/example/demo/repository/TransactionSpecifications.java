@@ -0,0 +1,87 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TransactionFilter;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Skladane warunki dla zapytan o transakcje. Filtr po wlascicielu jest zawsze obecny, wiec kazda
+ * kombinacja moze korzystac z indeksu (user_id, date, id); budzet + typ z (budget_id, type).
+ * Odwolania do kategorii i budzetu ida po kluczu obcym, bez dodatkowego JOIN-a.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter) {
+        Specification<Transaction> specification = belongsToUser(userId);
+        if (filter == null) {
+            return specification;
+        }
+        if (filter.getFrom() != null) {
+            specification = specification.and(dateFrom(filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            // Data koncowa wlacznie - filtrujemy po poczatku nastepnego dnia
+            specification = specification.and(dateBefore(filter.getTo().plusDays(1).atStartOfDay()));
+        }
+        if (filter.getType() != null) {
+            specification = specification.and(hasType(filter.getType()));
+        }
+        if (filter.getCategoryIds() != null && !filter.getCategoryIds().isEmpty()) {
+            specification = specification.and(inCategories(filter.getCategoryIds()));
+        }
+        if (filter.getBudgetId() != null) {
+            specification = specification.and(inBudget(filter.getBudgetId()));
+        }
+        if (filter.getMinAmount() != null) {
+            specification = specification.and(amountAtLeast(filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            specification = specification.and(amountAtMost(filter.getMaxAmount()));
+        }
+        return specification;
+    }
+
+    public static Specification<Transaction> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Transaction> belongsToUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Transaction> dateFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Transaction> dateBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("date"), to);
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Transaction> inBudget(Long budgetId) {
+        return (root, query, cb) -> cb.equal(root.get("budget").get("id"), budgetId);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+}
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.User;
+import com.example.demo.repository.projection.UserAuthState;
+import com.example.demo.repository.projection.UserCredentials;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,4 +20,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    Optional<UserAuthState> findAuthStateById(Long id);
+
+    // Logowanie czyta tylko id, email i hash - bez ladowania calej encji
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Blokuje wiersz uzytkownika do konca transakcji - rownolegle zapisy tego uzytkownika czekaja
+    @Modifying
+    @Query("UPDATE User u SET u.changeSeq = u.changeSeq + 1 WHERE u.id = :id")
+    int incrementChangeSeq(@Param("id") Long id);
+
+    // Ta sama blokada wiersza, ale bez nowego numeru - dla uzgadniania sum budzetu.
+    // 0 = budzet nie istnieje (albo jest usuniety)
+    @Modifying
+    @Query("UPDATE User u SET u.changeSeq = u.changeSeq " +
+            "WHERE u.id = (SELECT b.user.id FROM Budget b WHERE b.id = :budgetId)")
+    int lockOwnerOfBudget(@Param("budgetId") Long budgetId);
+
+    @Query("SELECT u.changeSeq FROM User u WHERE u.id = :id")
+    Optional<Long> findChangeSeq(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.demo.repository.projection;
+
+import java.math.BigDecimal;
+
+// Sumy transakcji budzetu policzone z tabeli transaction (constructor expression / cb.construct)
+public class BudgetAmounts {
+    private final Long budgetId;
+    private final BigDecimal income;
+    private final BigDecimal expense;
+    private final long transactionCount;
+
+    public BudgetAmounts(Long budgetId, BigDecimal income, BigDecimal expense, Long transactionCount) {
+        this.budgetId = budgetId;
+        this.income = income != null ? income : BigDecimal.ZERO;
+        this.expense = expense != null ? expense : BigDecimal.ZERO;
+        this.transactionCount = transactionCount != null ? transactionCount : 0L;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public BigDecimal getIncome() {
+        return income;
+    }
+
+    public BigDecimal getExpense() {
+        return expense;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.demo.repository.projection;
+
+import com.example.demo.model.TransactionType;
+
+import java.math.BigDecimal;
+
+public interface TransactionAmount {
+    // null dla transakcji bez budzetu
+    Long getBudgetId();
+
+    TransactionType getType();
+
+    BigDecimal getAmount();
+}
\ No newline at end of file
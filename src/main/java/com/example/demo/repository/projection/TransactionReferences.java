@@ -0,0 +1,10 @@
+package com.example.demo.repository.projection;
+
+public interface TransactionReferences {
+    String getCategoryName();
+
+    // null, gdy budzet nie zostal podany albo nie nalezy do uzytkownika
+    Long getBudgetId();
+
+    String getBudgetName();
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.demo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface TransactionSearchDocument {
+    Long getId();
+
+    String getDescription();
+
+    LocalDateTime getDate();
+}
\ No newline at end of file
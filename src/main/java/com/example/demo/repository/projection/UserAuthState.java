@@ -0,0 +1,9 @@
+package com.example.demo.repository.projection;
+
+import java.time.Instant;
+
+public interface UserAuthState {
+    Long getId();
+
+    Instant getCredentialsChangedAt();
+}
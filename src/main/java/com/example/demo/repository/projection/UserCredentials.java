@@ -0,0 +1,9 @@
+package com.example.demo.repository.projection;
+
+public interface UserCredentials {
+    Long getId();
+
+    String getEmail();
+
+    String getPassword();
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.example.demo.search;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.projection.TransactionSearchDocument;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Indeksy wyszukiwania per uzytkownik, budowane leniwie przy pierwszym wyszukiwaniu jednym
+ * zapytaniem (id, opis, data) i aktualizowane po commicie przez {@link TransactionChangedEvent}.
+ * Nieuzywane indeksy wypadaja z pamieci (LRU po liczbie transakcji i czasie bezczynnosci).
+ */
+@Component
+public class TransactionSearchIndex {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${transactions.search.max-documents:2000000}")
+    private long maxDocuments;
+
+    @Value("${transactions.search.idle-minutes:30}")
+    private long idleMinutes;
+
+    private Cache<Long, UserSearchIndex> indexes;
+
+    @PostConstruct
+    void init() {
+        indexes = Caffeine.newBuilder()
+                // Waga liczona przy zaladowaniu - wystarczajace przyblizenie zajetej pamieci
+                .maximumWeight(maxDocuments)
+                .weigher((Long userId, UserSearchIndex index) -> index.size() + 1)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    // Id transakcji w kolejnosci od najlepiej dopasowanej
+    public List<Long> search(Long userId, String query, int limit) {
+        List<String> terms = UserSearchIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return indexes.get(userId, this::load).search(terms, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        UserSearchIndex index = indexes.getIfPresent(event.getUserId());
+        if (index == null || event.getKind() == TransactionChangedEvent.Kind.BULK) {
+            // Jesli indeks wlasnie sie laduje, invalidate czeka na koniec ladowania i usuwa
+            // snapshot, ktory moglby nie zawierac tej zmiany - kolejne wyszukiwanie zbuduje go od nowa
+            indexes.invalidate(event.getUserId());
+            return;
+        }
+
+        if (event.getKind() == TransactionChangedEvent.Kind.DELETED) {
+            index.remove(event.getTransactionId());
+        } else {
+            index.put(event.getTransactionId(), event.getDescription(), event.getDate());
+        }
+    }
+
+    private UserSearchIndex load(Long userId) {
+        UserSearchIndex index = new UserSearchIndex();
+        for (TransactionSearchDocument document : transactionRepository.findSearchDocumentsByUserId(userId)) {
+            index.put(document.getId(), document.getDescription(), document.getDate());
+        }
+        return index;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indeks odwrocony opisow transakcji jednego uzytkownika. Termy trzymane sa w posortowanej
+ * mapie, wiec dopasowanie prefiksu to jeden zakres {@code subMap}. Wynik: transakcje zawierajace
+ * wszystkie slowa zapytania (kazde jako prefiks), ranking po idf z premia za pelne slowo,
+ * przy remisie nowsze pierwsze.
+ */
+class UserSearchIndex {
+
+    private static final int MAX_TERM_LENGTH = 50;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    void put(Long id, String description, LocalDateTime date) {
+        List<String> terms = tokenize(description);
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            if (terms.isEmpty()) {
+                return;
+            }
+            documents.put(id, new Document(terms.toArray(new String[0]), date));
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Long> search(List<String> queryTerms, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Double>> perTerm = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Double> matches = match(term);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                perTerm.add(matches);
+            }
+
+            // Przeciecie zaczynamy od najrzadszego slowa - najmniej kandydatow do sprawdzenia
+            perTerm.sort(Comparator.comparingInt(Map::size));
+            Map<Long, Double> scores = new HashMap<>(perTerm.get(0));
+            for (int i = 1; i < perTerm.size() && !scores.isEmpty(); i++) {
+                Map<Long, Double> matches = perTerm.get(i);
+                scores.entrySet().removeIf(entry -> !matches.containsKey(entry.getKey()));
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            return topResults(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Najlepsza waga slowa per transakcja: pelne slowo > prefiks, rzadsze slowo > czeste
+    private Map<Long, Double> match(String term) {
+        Map<Long, Double> matches = new HashMap<>();
+        String upperBound = term + Character.MAX_VALUE;
+        for (Map.Entry<String, Set<Long>> entry : postings.subMap(term, true, upperBound, false).entrySet()) {
+            Set<Long> ids = entry.getValue();
+            double weight = Math.log(1.0 + (double) documents.size() / ids.size());
+            if (entry.getKey().length() > term.length()) {
+                weight *= PREFIX_MATCH_WEIGHT;
+            }
+            for (Long id : ids) {
+                matches.merge(id, weight, Math::max);
+            }
+        }
+        return matches;
+    }
+
+    private List<Long> topResults(Map<Long, Double> scores, int limit) {
+        Comparator<Map.Entry<Long, Double>> ranking = Comparator
+                .<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue)
+                .thenComparing(entry -> documents.get(entry.getKey()).date(), Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Map.Entry::getKey);
+
+        // Kopiec rozmiaru limit zamiast sortowania wszystkich trafien
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private void removeDocument(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Male litery, bez polskich znakow (NFD + usuniecie akcentow; "l" z kreska nie ma rozkladu)
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+
+        Set<String> terms = new LinkedHashSet<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TERM_LENGTH) {
+                    current.append(c == '\u0142' ? 'l' : c);
+                }
+            } else if (current.length() > 0) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            terms.add(current.toString());
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private record Document(String[] terms, LocalDateTime date) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.demo.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Prosty, wspolbiezny filtr Blooma dla identyfikatorow tokenow.
+ * Sprawdzenie nie alokuje pamieci - korzysta z zapamietanego String.hashCode() i podwojnego haszowania.
+ */
+final class BloomFilter {
+
+    private static final int HASH_FUNCTIONS = 7;
+    // ~1% falszywych trafien przy 7 funkcjach haszujacych
+    private static final double BITS_PER_ENTRY = 9.6;
+
+    private final AtomicLongArray words;
+    private final int bitCount;
+
+    BloomFilter(int expectedEntries) {
+        long wanted = (long) Math.ceil(Math.max(1, expectedEntries) * BITS_PER_ENTRY);
+        int wordCount = (int) Math.min(Integer.MAX_VALUE / 64, Math.max(1, (wanted + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64;
+    }
+
+    void put(String key) {
+        int h1 = key.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String key) {
+        int h1 = key.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int index(int hash) {
+        return (hash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // finalizer z MurmurHash3
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
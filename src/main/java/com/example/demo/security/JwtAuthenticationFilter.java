@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,32 +26,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserStateCache userStateCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    // true: uwierzytelnienie tylko na podstawie zweryfikowanych claimow, bez zapytania do bazy
+    @Value("${jwt.stateless:true}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        String email = null;
-        String jwt = null;
+        JwtPrincipal principal = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                email = jwtUtil.extractEmail(jwt); // Updated to use extractEmail
+                // Jedno parsowanie i weryfikacja podpisu na request
+                principal = jwtUtil.parseToken(authHeader.substring(7));
             } catch (Exception e) {
                 logger.error("JWT Token extraction failed", e);
             }
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        // Refresh token nie moze sluzyc jako access token; odwolane tokeny (logout) odrzucamy w O(1)
+        if (principal != null && (!principal.isAccessToken() || tokenRevocationList.isRevoked(principal.getTokenId()))) {
+            principal = null;
+        }
+
+        if (principal != null && userStateCache.isTokenAccepted(principal)) {
+            UsernamePasswordAuthenticationToken authToken;
 
-            if (jwtUtil.isTokenValid(jwt)) {
-                UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (statelessAuth) {
+                authToken = new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
+            } else {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(principal.getEmail());
+                authToken = new UsernamePasswordAuthenticationToken(principal, null, userDetails.getAuthorities());
             }
+
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,68 @@
+package com.example.demo.security;
+
+import java.time.Instant;
+
+/**
+ * Zweryfikowany użytkownik z tokena JWT. Tworzony raz w {@link JwtAuthenticationFilter}
+ * i przekazywany do kontrolerów przez {@code @AuthenticationPrincipal}.
+ */
+public class JwtPrincipal {
+
+    private final Long userId;
+    private final String email;
+    private final String tokenId;
+    private final String tokenType;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(Long userId, String email, String tokenId, String tokenType, Instant issuedAt, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.tokenId = tokenId;
+        this.tokenType = tokenType;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    // Tokeny sprzed wprowadzenia refresh tokenow nie maja typu - traktujemy je jako access
+    public boolean isAccessToken() {
+        return tokenType == null || JwtUtil.ACCESS_TOKEN.equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtUtil.REFRESH_TOKEN.equals(tokenType);
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
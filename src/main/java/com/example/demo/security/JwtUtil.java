@@ -1,44 +1,142 @@
 package com.example.demo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtil {
 
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private static final String TYPE_CLAIM = "type";
+
+    // MessageDigest nie jest thread-safe; jedna instancja na watek zamiast getInstance na kazdy request
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private Long expirationTime;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private Long refreshExpirationTime;
+
+    @Value("${jwt.verified-cache.max-size:50000}")
+    private long verifiedCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Zweryfikowane tokeny (klucz: SHA-256 tokena), wpis wygasa razem z claimem exp
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    private final LongAdder verifiedCacheHits = new LongAdder();
+    private final LongAdder verifiedCacheMisses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), principal.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String email, Long userId) {
+        return buildToken(email, userId, ACCESS_TOKEN, expirationTime);
+    }
+
+    public String generateRefreshToken(String email, Long userId) {
+        return buildToken(email, userId, REFRESH_TOKEN, refreshExpirationTime);
+    }
+
+    private String buildToken(String email, Long userId, String type, long validityMillis) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("userId", userId)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigningKey())
+                .claim(TYPE_CLAIM, type)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + validityMillis))
+                .signWith(signingKey)
                 .compact();
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Weryfikuje podpis i ważność tokena jednym parsowaniem.
+     * Rzuca {@link JwtException}, gdy token jest niepoprawny lub wygasł.
+     */
+    public JwtPrincipal parseToken(String token) {
+        String cacheKey = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired()) {
+            verifiedCacheHits.increment();
+            return cached;
+        }
+
+        verifiedCacheMisses.increment();
+        JwtPrincipal principal = toPrincipal(extractClaims(token));
+        verifiedTokens.put(cacheKey, principal);
+        return principal;
+    }
+
+    private JwtPrincipal toPrincipal(Claims claims) {
+        return new JwtPrincipal(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.getId(),
+                claims.get(TYPE_CLAIM, String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant()
+        );
     }
 
     public String extractEmail(String token) {
@@ -51,14 +149,27 @@ public class JwtUtil {
 
     public boolean isTokenValid(String token) {
         try {
-            extractClaims(token);
-            return !isTokenExpired(token);
+            return !parseToken(token).isExpired();
         } catch (Exception e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
+    public long getVerifiedCacheHits() {
+        return verifiedCacheHits.sum();
+    }
+
+    public long getVerifiedCacheMisses() {
+        return verifiedCacheMisses.sum();
+    }
+
+    public long getVerifiedCacheSize() {
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        // digest() resetuje instancje, wiec nadaje sie do ponownego uzycia
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
     }
 }
\ No newline at end of file
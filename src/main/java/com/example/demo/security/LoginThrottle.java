@@ -0,0 +1,159 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.LoginThrottledException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket dla prob logowania, osobno per email i per IP klienta.
+ * Stan kubelka (czas ostatniego uzupelnienia + liczba tokenow) jest spakowany w jednym
+ * AtomicLong i aktualizowany przez CAS, wiec sprawdzenie nie bierze zadnych lockow.
+ * Kubelki trzyma ograniczony cache Caffeine: wpis wygasa po czasie pelnego uzupelnienia od
+ * ostatniego uzycia (wtedy i tak bylby pelny), a przy limicie kluczy nowe wypychaja stare
+ * w O(1) - zalew roznymi kluczami nie blokuje logowania pozostalym uzytkownikom.
+ */
+@Component
+public class LoginThrottle {
+
+    // [ 40 bitow: czas w ms od startu | 24 bity: tokeny * 1000 ]
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI_TOKENS = 1000;
+    private static final long MAX_CAPACITY = TOKEN_MASK / MILLI_TOKENS;
+
+    @Value("${security.login-throttle.email.capacity:5}")
+    private long emailCapacity;
+
+    @Value("${security.login-throttle.email.refill-per-minute:5}")
+    private long emailRefillPerMinute;
+
+    @Value("${security.login-throttle.ip.capacity:50}")
+    private long ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-per-minute:50}")
+    private long ipRefillPerMinute;
+
+    @Value("${security.login-throttle.max-keys:500000}")
+    private int maxKeys;
+
+    private Cache<String, AtomicLong> emailBuckets;
+    private Cache<String, AtomicLong> ipBuckets;
+    private final long startNanos = System.nanoTime();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    private Limit emailLimit;
+    private Limit ipLimit;
+
+    @PostConstruct
+    public void init() {
+        emailLimit = new Limit(emailCapacity, emailRefillPerMinute);
+        ipLimit = new Limit(ipCapacity, ipRefillPerMinute);
+        emailBuckets = buckets(emailLimit);
+        ipBuckets = buckets(ipLimit);
+    }
+
+    private Cache<String, AtomicLong> buckets(Limit limit) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(limit.fullRefillMillis))
+                .build();
+    }
+
+    /**
+     * Zuzywa po jednym tokenie z kubelka IP i kubelka emaila.
+     * Rzuca {@link LoginThrottledException}, zanim dojdzie do weryfikacji hasla.
+     */
+    public void checkLoginAllowed(String email, String clientIp) {
+        long now = nowMillis();
+
+        boolean permitted = tryConsume(ipBuckets, clientIp == null ? "" : clientIp, ipLimit, now)
+                && tryConsume(emailBuckets, normalizeEmail(email), emailLimit, now);
+
+        if (!permitted) {
+            throttled.increment();
+            throw new LoginThrottledException("Too many login attempts, try again later",
+                    Math.max(emailLimit.secondsPerToken(), ipLimit.secondsPerToken()));
+        }
+        allowed.increment();
+    }
+
+    public long getAllowedAttempts() {
+        return allowed.sum();
+    }
+
+    public long getThrottledAttempts() {
+        return throttled.sum();
+    }
+
+    // Wygasanie i wypychanie Caffeine robi przy okazji operacji; cleanUp domyka zalegle
+    public long getTrackedKeys() {
+        emailBuckets.cleanUp();
+        ipBuckets.cleanUp();
+        return emailBuckets.estimatedSize() + ipBuckets.estimatedSize();
+    }
+
+    private boolean tryConsume(Cache<String, AtomicLong> buckets, String key, Limit limit, long now) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(pack(now, limit.capacityMilli)));
+
+        while (true) {
+            long state = bucket.get();
+            long tokens = refilledTokens(state, limit, now);
+            if (tokens < MILLI_TOKENS) {
+                return false;
+            }
+            if (bucket.compareAndSet(state, pack(now, tokens - MILLI_TOKENS))) {
+                return true;
+            }
+        }
+    }
+
+    private long refilledTokens(long state, Limit limit, long now) {
+        long tokens = state & TOKEN_MASK;
+        long elapsed = Math.min(Math.max(0, now - (state >>> TOKEN_BITS)), limit.fullRefillMillis);
+        return Math.min(limit.capacityMilli, tokens + elapsed * limit.refillPerMinute * MILLI_TOKENS / 60_000);
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static long pack(long millis, long milliTokens) {
+        return (millis << TOKEN_BITS) | milliTokens;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Limit {
+        private final long capacityMilli;
+        private final long refillPerMinute;
+        private final long fullRefillMillis;
+
+        private Limit(long capacity, long refillPerMinute) {
+            if (capacity < 1 || capacity > MAX_CAPACITY) {
+                throw new IllegalArgumentException("Login throttle capacity must be between 1 and " + MAX_CAPACITY);
+            }
+            if (refillPerMinute < 1) {
+                throw new IllegalArgumentException("Login throttle refill rate must be positive");
+            }
+            this.capacityMilli = capacity * MILLI_TOKENS;
+            this.refillPerMinute = refillPerMinute;
+            this.fullRefillMillis = (60_000 * capacity + refillPerMinute - 1) / refillPerMinute;
+        }
+
+        private long secondsPerToken() {
+            return Math.max(1, (60 + refillPerMinute - 1) / refillPerMinute);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.security;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista odwolanych tokenow (jti) trzymana w pamieci: filtr Blooma odsiewa prawie wszystkie
+ * sprawdzenia bez dotykania mapy, a dokladny zbior rozstrzyga trafienia. Zrodlem prawdy jest
+ * tabela revoked_tokens, z ktorej lista jest odtwarzana przy starcie.
+ */
+@Component
+public class TokenRevocationList {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    @PostConstruct
+    public void load() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            revoked.put(token.getTokenId(), token.getExpiresAt());
+        }
+        rebuildBloomFilter();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Odwoluje token atomowo. Zwraca true tylko dla wywolania, ktore faktycznie odwolalo token -
+     * przy rownoleglych odwolaniach tego samego jti (np. powtorzony refresh) wygrywa dokladnie jedno.
+     */
+    public boolean revoke(String tokenId, Long userId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return false;
+        }
+        // Najpierw zbior, potem filtr - przebudowa filtra zawsze widzi wpis w zbiorze
+        if (revoked.putIfAbsent(tokenId, expiresAt) != null) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(tokenId, userId, expiresAt);
+        } catch (DataIntegrityViolationException e) {
+            // Odwolany juz przez inna instancje aplikacji
+            bloomFilter.put(tokenId);
+            return false;
+        } catch (RuntimeException e) {
+            revoked.remove(tokenId, expiresAt);
+            throw e;
+        }
+        bloomFilter.put(tokenId);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedTokenRepository.deleteExpired(now);
+        rebuildBloomFilter();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // Wpisy dodane w trakcie przebudowy trafily do starego filtra - dopisujemy je ponownie
+        revoked.keySet().forEach(rebuilt::put);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Ograniczony cache stanu uzytkownikow (istnieje / kiedy zmieniono haslo), dzieki ktoremu
+ * filtr JWT nie musi odpytywac bazy przy kazdym requescie. Wpisy sa uniewazniane przez
+ * {@link com.example.demo.service.UserService} przy zmianie hasla i usunieciu konta.
+ */
+@Component
+public class UserStateCache {
+
+    private static final UserState MISSING = new UserState(false, null);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auth.user-state-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.user-state-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Long, UserState> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isTokenAccepted(JwtPrincipal principal) {
+        if (principal.getUserId() == null) {
+            return false;
+        }
+
+        UserState state = cache.get(principal.getUserId(), this::loadState);
+        if (!state.exists()) {
+            return false;
+        }
+
+        Instant changedAt = state.credentialsChangedAt();
+        if (changedAt == null) {
+            return true;
+        }
+
+        // iat w JWT ma dokladnosc do sekundy
+        return principal.getIssuedAt() != null
+                && !principal.getIssuedAt().isBefore(changedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    private UserState loadState(Long userId) {
+        return userRepository.findAuthStateById(userId)
+                .map(authState -> new UserState(true, authState.getCredentialsChangedAt()))
+                .orElse(MISSING);
+    }
+
+    private record UserState(boolean exists, Instant credentialsChangedAt) {
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.demo.service;
 
-import com.example.demo.model.Budget;
+import com.example.demo.dto.BudgetUsageReport;
+import com.example.demo.model.BudgetTotals;
+import com.example.demo.money.Money;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.BudgetTotalsRepository;
 import com.example.demo.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class BudgetAnalyticsService {
@@ -14,19 +21,98 @@ public class BudgetAnalyticsService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private BudgetTotalsRepository budgetTotalsRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Value("${budgets.usage.near-limit-percent:80}")
+    private double nearLimitPercent = 80;
+
+    // Sumy z budget_totals (odczyt po kluczu); SUM po transakcjach tylko dla budzetow bez wiersza
     public BigDecimal calculateTotalSpent(Long budgetId) {
+        Optional<BudgetTotals> totals = budgetTotalsRepository.findById(budgetId);
+        if (totals.isPresent()) {
+            return Money.toAmount(totals.get().getExpenseMinor());
+        }
         BigDecimal totalSpent = transactionRepository.sumExpenseAmountByBudgetId(budgetId);
 
         return totalSpent != null ? totalSpent : BigDecimal.ZERO;
     }
     public BigDecimal calculateTotalIncome(Long budgetId) {
+        Optional<BudgetTotals> totals = budgetTotalsRepository.findById(budgetId);
+        if (totals.isPresent()) {
+            return Money.toAmount(totals.get().getIncomeMinor());
+        }
         BigDecimal totalIncome = transactionRepository.sumIncomeAmountByBudgetId(budgetId);
         return totalIncome != null ? totalIncome : BigDecimal.ZERO;
     }
     public BigDecimal calculateBalance(Long budgetId) {
-        BigDecimal totalIncome = calculateTotalIncome(budgetId);
-        BigDecimal totalSpent = calculateTotalSpent(budgetId);
+        Optional<BudgetTotals> totals = budgetTotalsRepository.findById(budgetId);
+        if (totals.isPresent()) {
+            return balance(totals.get());
+        }
+        // Przychody i wydatki jednym warunkowym SUM zamiast dwoch zapytan
+        return transactionRepository.sumByBudgetIds(List.of(budgetId)).stream()
+                .findFirst()
+                .map(amounts -> amounts.getIncome().subtract(amounts.getExpense()))
+                .orElse(BigDecimal.ZERO);
+    }
+
+    // Warianty dla kontrolera: wlasnosc i sumy w jednym zapytaniu; pusty Optional = brak dostepu
+    public Optional<BigDecimal> calculateTotalSpent(Long budgetId, Long userId) {
+        return ownedTotals(budgetId, userId, totals -> Money.toAmount(totals.getExpenseMinor()),
+                this::calculateTotalSpent);
+    }
+
+    public Optional<BigDecimal> calculateTotalIncome(Long budgetId, Long userId) {
+        return ownedTotals(budgetId, userId, totals -> Money.toAmount(totals.getIncomeMinor()),
+                this::calculateTotalIncome);
+    }
+
+    public Optional<BigDecimal> calculateBalance(Long budgetId, Long userId) {
+        return ownedTotals(budgetId, userId, BudgetAnalyticsService::balance, this::calculateBalance);
+    }
+
+    // Wszystkie budzety uzytkownika jednym zapytaniem grupujacym, niezaleznie od ich liczby
+    public List<BudgetUsageReport> getUsageReports(Long userId) {
+        List<BudgetUsageReport> reports = budgetRepository.findUsageByUserId(userId);
+        for (BudgetUsageReport report : reports) {
+            report.setStatus(usageStatus(report));
+        }
+        return reports;
+    }
+
+    // Przekroczenie z dokladnych kwot BigDecimal (bez przeliczania na grosze w long, ktore przepelnia sie
+    // dla bardzo duzych limitow) - procent jest zaokraglony (100.00 dla limitu przekroczonego
+    // o grosz przy duzym limicie), wiec sluzy tylko do progu NEAR_LIMIT
+    private String usageStatus(BudgetUsageReport report) {
+        if (report.getPercentageUsed() == null) {
+            return BudgetUsageReport.STATUS_NO_LIMIT;
+        }
+        if (report.getSpent().compareTo(report.getLimit()) > 0) {
+            return BudgetUsageReport.STATUS_OVER_LIMIT;
+        }
+        return report.getPercentageUsed() >= nearLimitPercent
+                ? BudgetUsageReport.STATUS_NEAR_LIMIT
+                : BudgetUsageReport.STATUS_ON_TRACK;
+    }
+
+    private Optional<BigDecimal> ownedTotals(Long budgetId, Long userId, Function<BudgetTotals, BigDecimal> fromTotals,
+                                             Function<Long, BigDecimal> fallback) {
+        Optional<BudgetTotals> totals = budgetTotalsRepository.findOwned(budgetId, userId);
+        if (totals.isPresent()) {
+            return totals.map(fromTotals);
+        }
+        // Budzet sprzed budget_totals (wiersz zalozy uzgadnianie) albo brak dostepu
+        if (!budgetRepository.existsByIdAndUserId(budgetId, userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(fallback.apply(budgetId));
+    }
 
-        return totalIncome.subtract(totalSpent);
+    private static BigDecimal balance(BudgetTotals totals) {
+        return Money.toAmount(Money.subtract(totals.getIncomeMinor(), totals.getExpenseMinor()));
     }
 }
\ No newline at end of file
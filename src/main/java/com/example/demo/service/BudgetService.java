@@ -1,10 +1,16 @@
 package com.example.demo.service;
 
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
 import com.example.demo.model.Budget;
 import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.RecurringTransactionRepository;
+import com.example.demo.repository.TransactionRepository;
 import com.example.demo.validation.BudgetValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +24,24 @@ public class BudgetService {
     @Autowired
     private BudgetValidator budgetValidator;
 
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetTotalsService budgetTotalsService;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
     public List<Budget> getAllBudgets() {
         return budgetRepository.findAll();
     }
@@ -34,27 +58,50 @@ public class BudgetService {
         return budgetRepository.findByUserId(userId);
     }
 
+    @Transactional
     public Budget createBudget(Budget budget) {
         budgetValidator.validateBudget(budget);
-        return budgetRepository.save(budget);
+        budget.setDeleted(false);
+        budget.setChangeSeq(changeSequenceService.next(budget.getUser().getId()));
+        Budget saved = budgetRepository.save(budget);
+        budgetTotalsService.createFor(saved.getId());
+        userDataVersionService.markChanged(saved.getUser().getId());
+        eventPublisher.publishEvent(BudgetChangedEvent.saved(saved.getId(), saved.getUser().getId()));
+        return saved;
     }
 
+    @Transactional
     public Budget updateBudget(Long id, Budget budgetDetails) {
         return budgetRepository.findById(id).map(budget -> {
             budget.setName(budgetDetails.getName());
             budget.setStartDate(budgetDetails.getStartDate());
             budget.setEndDate(budgetDetails.getEndDate());
+            budget.setLimit(budgetDetails.getLimit());
 
             budgetValidator.validateBudget(budget);
+            budget.setChangeSeq(changeSequenceService.next(budget.getUser().getId()));
 
-            return budgetRepository.save(budget);
+            Budget saved = budgetRepository.save(budget);
+            userDataVersionService.markChanged(saved.getUser().getId());
+            eventPublisher.publishEvent(BudgetChangedEvent.saved(saved.getId(), saved.getUser().getId()));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Budget not found with id: " + id));
     }
 
-    public void deleteBudget(Long id) {
-        if (!budgetRepository.existsById(id)) {
+    // Budzet i jego transakcje zostaja jako znaczniki usuniecia dla synchronizacji
+    // (UPDATE-y zamiast kaskady usuwajacej transakcje po jednej); definicje cykliczne
+    // budzetu przestaja generowac nowe transakcje
+    @Transactional
+    public void deleteBudget(Long id, Long userId) {
+        long changeSeq = changeSequenceService.next(userId);
+        if (budgetRepository.markDeleted(id, userId, changeSeq) == 0) {
             throw new RuntimeException("Budget not found with id: " + id);
         }
-        budgetRepository.deleteById(id);
+        transactionRepository.markDeletedByBudgetId(id, changeSeq);
+        recurringTransactionRepository.deactivateByBudgetId(id);
+        budgetTotalsService.deleteFor(id);
+        userDataVersionService.markChanged(userId);
+        eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+        eventPublisher.publishEvent(BudgetChangedEvent.deleted(id, userId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,267 @@
+package com.example.demo.service;
+
+import com.example.demo.model.BudgetTotals;
+import com.example.demo.model.TransactionType;
+import com.example.demo.money.Money;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.BudgetTotalsRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.projection.BudgetAmounts;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Utrzymanie tabeli budget_totals. Zmiany sum ida jako UPDATE ... SET x = x + :delta w tej samej
+ * transakcji co zapis transakcji, wiec wycofanie zapisu wycofuje tez sumy. Nocne uzgadnianie
+ * porownuje wiersze z SUM po transakcjach, naprawia rozjazdy i zaklada brakujace wiersze.
+ */
+@Service
+public class BudgetTotalsService {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetTotalsService.class);
+
+    @Autowired
+    private BudgetTotalsRepository budgetTotalsRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${budget-totals.reconcile-chunk-size:500}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Tylko wewnatrz transakcji zapisu - poza nia sumy rozjechalyby sie z transakcjami przy bledzie
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Delta delta) {
+        // Rosnaco po id budzetu: rownolegle zapisy blokuja wiersze w tej samej kolejnosci (bez deadlockow)
+        delta.changes.forEach((budgetId, change) -> {
+            if (!change.isZero()) {
+                // 0 wierszy = budzet bez sum (sprzed budget_totals); wiersz zalozy uzgadnianie
+                budgetTotalsRepository.increment(budgetId, change.income, change.expense, change.count);
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createFor(Long budgetId) {
+        entityManager.persist(new BudgetTotals(budgetId, 0L, 0L, 0L));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteFor(Long budgetId) {
+        budgetTotalsRepository.deleteByBudgetId(budgetId);
+    }
+
+    public Optional<BudgetTotals> findOwned(Long budgetId, Long userId) {
+        return budgetTotalsRepository.findOwned(budgetId, userId);
+    }
+
+    public Optional<BudgetTotals> find(Long budgetId) {
+        return budgetTotalsRepository.findById(budgetId);
+    }
+
+    @Scheduled(cron = "${budget-totals.reconcile-cron:0 0 3 * * *}")
+    public void reconcileScheduled() {
+        reconcile();
+    }
+
+    // Zwraca liczbe naprawionych (lub zalozonych) wierszy
+    public int reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Budget totals reconciliation already running, skipping");
+            return 0;
+        }
+
+        try {
+            long afterId = 0;
+            int repaired = 0;
+            while (true) {
+                List<Long> budgetIds = budgetRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (budgetIds.isEmpty()) {
+                    break;
+                }
+                repaired += reconcileChunk(budgetIds);
+                if (budgetIds.size() < chunkSize) {
+                    break;
+                }
+                afterId = budgetIds.get(budgetIds.size() - 1);
+            }
+            log.info("Budget totals reconciliation repaired {} rows", repaired);
+            return repaired;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Porownanie bez blokad; podejrzane wiersze sprawdzane ponownie pod blokada, bo zapis mogl
+    // zmienic transakcje miedzy odczytem sum a odczytem wierszy
+    private int reconcileChunk(List<Long> budgetIds) {
+        Map<Long, BudgetAmounts> actual = new HashMap<>();
+        for (BudgetAmounts amounts : transactionRepository.sumByBudgetIds(budgetIds)) {
+            actual.put(amounts.getBudgetId(), amounts);
+        }
+        Map<Long, BudgetTotals> stored = new HashMap<>();
+        for (BudgetTotals totals : budgetTotalsRepository.findAllById(budgetIds)) {
+            stored.put(totals.getBudgetId(), totals);
+        }
+
+        int repaired = 0;
+        for (Long budgetId : budgetIds) {
+            if (!matches(stored.get(budgetId), actual.get(budgetId))) {
+                try {
+                    Boolean fixed = transactionTemplate.execute(status -> repair(budgetId));
+                    if (Boolean.TRUE.equals(fixed)) {
+                        repaired++;
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    // Wiersz zalozyl w tym samym czasie inny wezel - jego uzgadnianie wygralo
+                    log.info("Budget totals for budget {} created concurrently, skipping", budgetId);
+                }
+            }
+        }
+        return repaired;
+    }
+
+    // Kazdy zapis transakcji trzyma blokade wiersza wlasciciela (ChangeSequenceService.next) do
+    // commitu. Naprawa bierze ta sama blokade, wiec SUM widzi wszystkie zapisy w toku, a nowe czekaja
+    // na koniec naprawy. Brakujacy wiersz zakladamy (zerowy) i blokujemy przed SUM - zapis po
+    // naprawie trafia juz w istniejacy wiersz, zamiast zgubic increment na brakujacym
+    private boolean repair(Long budgetId) {
+        if (!changeSequenceService.lockBudgetOwner(budgetId)) {
+            // Budzet usuniety w miedzyczasie - nie zakladamy wiersza
+            return false;
+        }
+        boolean created = budgetTotalsRepository.insertIfAbsent(budgetId) > 0;
+        Optional<BudgetTotals> locked = budgetTotalsRepository.findForUpdate(budgetId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+        BudgetAmounts amounts = transactionRepository.sumByBudgetIds(List.of(budgetId)).stream()
+                .findFirst()
+                .orElse(new BudgetAmounts(budgetId, null, null, null));
+        long income = Money.toMinor(amounts.getIncome());
+        long expense = Money.toMinor(amounts.getExpense());
+
+        BudgetTotals totals = locked.get();
+        if (created) {
+            log.info("Budget totals missing for budget {}, created", budgetId);
+        } else if (matches(totals, amounts)) {
+            return false;
+        } else {
+            log.warn("Budget totals drift for budget {}: stored income={} expense={} count={}, actual income={} expense={} count={}",
+                    budgetId, totals.getIncomeMinor(), totals.getExpenseMinor(), totals.getTransactionCount(),
+                    income, expense, amounts.getTransactionCount());
+        }
+        totals.setIncomeMinor(income);
+        totals.setExpenseMinor(expense);
+        totals.setTransactionCount(amounts.getTransactionCount());
+        return true;
+    }
+
+    private static boolean matches(BudgetTotals totals, BudgetAmounts amounts) {
+        if (totals == null) {
+            return false;
+        }
+        if (amounts == null) {
+            return totals.getIncomeMinor() == 0 && totals.getExpenseMinor() == 0 && totals.getTransactionCount() == 0;
+        }
+        return totals.getIncomeMinor() == Money.toMinor(amounts.getIncome())
+                && totals.getExpenseMinor() == Money.toMinor(amounts.getExpense())
+                && totals.getTransactionCount() == amounts.getTransactionCount();
+    }
+
+    /**
+     * Zmiany sum zebrane w jednej transakcji zapisu; kwoty zaokraglane jak w kolumnie amount.
+     * Transakcje bez budzetu sa pomijane.
+     */
+    public static class Delta {
+
+        private final TreeMap<Long, Change> changes = new TreeMap<>();
+
+        public Delta add(Long budgetId, TransactionType type, BigDecimal amount) {
+            return record(budgetId, type, Money.toMinor(amount, RoundingMode.HALF_UP), 1);
+        }
+
+        public Delta remove(Long budgetId, TransactionType type, BigDecimal amount) {
+            return record(budgetId, type, Math.negateExact(Money.toMinor(amount, RoundingMode.HALF_UP)), -1);
+        }
+
+        // Sumy policzone w bazie (np. przed usunieciem wielu transakcji jednym UPDATE-em)
+        public Delta remove(BudgetAmounts amounts) {
+            Change change = changes.computeIfAbsent(amounts.getBudgetId(), id -> new Change());
+            change.income = Money.subtract(change.income, Money.toMinor(amounts.getIncome()));
+            change.expense = Money.subtract(change.expense, Money.toMinor(amounts.getExpense()));
+            change.count -= amounts.getTransactionCount();
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return changes.values().stream().allMatch(Change::isZero);
+        }
+
+        private Delta record(Long budgetId, TransactionType type, long minor, int count) {
+            if (budgetId == null || type == null) {
+                return this;
+            }
+            Change change = changes.computeIfAbsent(budgetId, id -> new Change());
+            if (type == TransactionType.INCOME) {
+                change.income = Money.add(change.income, minor);
+            } else {
+                change.expense = Money.add(change.expense, minor);
+            }
+            change.count += count;
+            return this;
+        }
+    }
+
+    private static class Change {
+        private long income;
+        private long expense;
+        private long count;
+
+        boolean isZero() {
+            return income == 0 && expense == 0 && count == 0;
+        }
+    }
+}
\ No newline at end of file
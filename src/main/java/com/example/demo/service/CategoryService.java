@@ -5,6 +5,7 @@ import com.example.demo.model.User;
 import com.example.demo.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,8 +19,14 @@ public class CategoryService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
     private static final String[] DEFAULT_CATEGORY_NAMES = {
-            "Groceries", "Rent", "Salary", "Transport", "Entertainment", "Utilities"
+            "Groceries", "Rent", "Salary", "Transport", "Entertainment", "Utilities", "Other"
     };
 
     public void initializeDefaultCategories() {
@@ -35,6 +42,7 @@ public class CategoryService {
         return categoryRepository.findDefaultAndUserCategories(userId);
     }
 
+    @Transactional
     public Category createCustomCategory(String name, Long userId) {
         if (categoryRepository.findByNameAndUserId(name, userId).isPresent()) {
             throw new RuntimeException("Category with this name already exists.");
@@ -44,7 +52,10 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         Category newCategory = new Category(name, user, false);
-        return categoryRepository.save(newCategory);
+        newCategory.setChangeSeq(changeSequenceService.next(userId));
+        Category saved = categoryRepository.save(newCategory);
+        userDataVersionService.markChanged(userId);
+        return saved;
     }
 
     public Optional<Category> getCategoryById(Long id) {
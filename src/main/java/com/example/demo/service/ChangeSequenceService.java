@@ -0,0 +1,39 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Numery zmian dla synchronizacji przyrostowej (GET /api/sync). Licznik jest kolumna wiersza
+ * uzytkownika podbijana w tej samej transakcji co zapis danych: blokada wiersza trzyma zapisy
+ * jednego uzytkownika w kolejnosci numerow, wiec po odczycie wersji V zaden pozniejszy commit
+ * nie pojawi sie z numerem <= V.
+ */
+@Service
+public class ChangeSequenceService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(Long userId) {
+        if (userRepository.incrementChangeSeq(userId) == 0) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+        return current(userId);
+    }
+
+    // Czeka na zapisy wlasciciela budzetu w toku i wstrzymuje nowe do konca transakcji;
+    // false = budzetu nie ma
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockBudgetOwner(Long budgetId) {
+        return userRepository.lockOwnerOfBudget(budgetId) > 0;
+    }
+
+    public long current(Long userId) {
+        return userRepository.findChangeSeq(userId).orElse(0L);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.IdempotencyKeyReusedException;
+import com.example.demo.exception.IdempotentRequestInProgressException;
+import com.example.demo.model.IdempotencyRecord;
+import com.example.demo.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Obsluga naglowka Idempotency-Key dla endpointow tworzacych dane. Odpowiedzi trzymane sa
+ * w ograniczonym cache Caffeine (wygasanie po TTL i eviction w czasie O(1)) oraz w tabeli
+ * idempotency_keys, dzieki czemu powtorzenia po restarcie tez dostaja oryginalna odpowiedz.
+ * Rownolegle requesty z tym samym kluczem czekaja na jeden wspolny CompletableFuture,
+ * wiec akcja wykonuje sie tylko raz.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${idempotency.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    private Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    @PostConstruct
+    void init() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+    }
+
+    /**
+     * Wykonuje akcje raz dla pary (uzytkownik, klucz). Bez klucza akcja jest wykonywana zawsze.
+     * Zapamietywane sa tylko odpowiedzi 2xx - po bledzie klient moze ponowic request z tym samym kluczem.
+     */
+    public ResponseEntity<?> execute(Long userId, String key, String scope, Object request,
+                                     Supplier<? extends ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String id = userId + ":" + key;
+        String requestHash = hashRequest(scope, request);
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> existing = responses.asMap().putIfAbsent(id, pending);
+        if (existing != null) {
+            return replay(await(existing), requestHash);
+        }
+
+        StoredResponse persisted;
+        ResponseEntity<?> response;
+        try {
+            // Brak w pamieci - sprawdzamy tabele (np. powtorzenie po restarcie aplikacji)
+            persisted = idempotencyRecordRepository.findByIdAndExpiresAtAfter(id, Instant.now())
+                    .map(record -> new StoredResponse(record.getRequestHash(), record.getStatusCode(), record.getResponseBody()))
+                    .orElse(null);
+            if (persisted != null) {
+                pending.complete(persisted);
+                response = null;
+            } else {
+                response = action.get();
+                StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                        serializeBody(response.getBody()));
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    persist(id, userId, stored);
+                } else {
+                    responses.asMap().remove(id, pending);
+                }
+                pending.complete(stored);
+            }
+        } catch (RuntimeException | Error e) {
+            // Kazdy blad przed complete (takze serializacja po zatwierdzonej akcji) zwalnia klucz -
+            // inaczej czekajacy i kolejne powtorzenia dostawaliby 409 az do wygasniecia wpisu
+            responses.asMap().remove(id, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+
+        return persisted != null ? replay(persisted, requestHash) : response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        // Wpisy w pamieci wygasa sam Caffeine
+        idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> future) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException("A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Original request failed", e.getCause());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(HEADER + " was already used for a different request");
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true");
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        try {
+            return builder.contentType(MediaType.APPLICATION_JSON).body(objectMapper.readTree(stored.body()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not valid JSON", e);
+        }
+    }
+
+    private void persist(String id, Long userId, StoredResponse stored) {
+        Instant now = Instant.now();
+        try {
+            idempotencyRecordRepository.save(new IdempotencyRecord(id, userId, stored.requestHash(),
+                    stored.statusCode(), stored.body(), now, now.plus(Duration.ofHours(ttlHours))));
+        } catch (RuntimeException e) {
+            // Akcja jest juz zatwierdzona - blad zapisu klucza nie moze zamienic sukcesu w blad,
+            // bo klient ponowilby request i utworzyl duplikat. Zostaje ochrona z pamieci.
+            log.warn("Could not persist idempotency key {}", id, e);
+        }
+    }
+
+    private String serializeBody(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response for idempotent replay", e);
+        }
+    }
+
+    private String hashRequest(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (request != null) {
+                digest.update(objectMapper.writeValueAsBytes(request));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, int statusCode, String body) {
+    }
+}
\ No newline at end of file
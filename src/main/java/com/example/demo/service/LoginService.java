@@ -0,0 +1,67 @@
+package com.example.demo.service;
+
+import com.example.demo.model.LoginResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.UserCredentials;
+import com.example.demo.security.LoginThrottle;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Wspolna sciezka logowania dla /api/users/login i /api/auth/login:
+ * limit prob, jedno zapytanie o dane logowania, weryfikacja hasla i wydanie tokenow.
+ */
+@Service
+public class LoginService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Hash o koszcie jak prawdziwe hasla - brak konta kosztuje tyle samo czasu co zle haslo,
+    // wiec czas odpowiedzi nie zdradza, czy email istnieje
+    private String dummyHash;
+
+    @PostConstruct
+    void init() {
+        dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    public LoginResponse login(String email, String password, String clientIp) {
+        loginThrottle.checkLoginAllowed(email, clientIp);
+
+        if (email == null || password == null) {
+            throw new BadCredentialsException("Invalid credentials");
+        }
+
+        UserCredentials credentials = userRepository.findCredentialsByEmail(email).orElse(null);
+        if (credentials == null) {
+            passwordEncoder.matches(password, dummyHash);
+            throw new BadCredentialsException("Invalid credentials");
+        }
+
+        if (!passwordEncoder.matches(password, credentials.getPassword())) {
+            throw new BadCredentialsException("Invalid credentials");
+        }
+
+        // Przeliczenie hasha po zmianie kosztu BCrypt - UPDATE jednej kolumny zamiast zapisu encji
+        if (passwordEncoder.upgradeEncoding(credentials.getPassword())) {
+            userRepository.updatePassword(credentials.getId(), passwordEncoder.encode(password));
+        }
+
+        return tokenService.issueTokens(credentials.getEmail(), credentials.getId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.model.RecurringTransaction;
+import com.example.demo.model.Transaction;
+import com.example.demo.repository.RecurringTransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generuje transakcje z definicji cyklicznych dla wszystkich uzytkownikow jednym przebiegiem:
+ * porcje definicji (keyset po id), wszystkie zalegle wystapienia porcji zapisywane batchem JDBC.
+ * Wstawienie wystapien i przesuniecie {@code nextOccurrence} ida w jednej transakcji bazy, wiec
+ * przerwany przebieg nie zostawia duplikatow; unikalny klucz (recurring_id, occurrence_date)
+ * dodatkowo chroni przed rownoleglym uruchomieniem na dwoch instancjach. Porcja, ktorej nie da
+ * sie zapisac, jest powtarzana definicja po definicji - bledna definicja jest pomijana i logowana.
+ */
+@Service
+public class RecurringTransactionMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTransactionMaterializer.class);
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private BudgetTotalsService budgetTotalsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${recurring.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${recurring.lookahead-days:1}")
+    private int lookaheadDays;
+
+    @Value("${recurring.max-occurrences-per-run:400}")
+    private int maxOccurrencesPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${recurring.materialize-cron:0 30 1 * * *}")
+    public void materializeScheduled() {
+        materializeDue(LocalDate.now());
+    }
+
+    // Zwraca liczbe utworzonych transakcji
+    public int materializeDue(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Recurring transaction materialization already running, skipping");
+            return 0;
+        }
+
+        try {
+            LocalDate horizon = today.plusDays(lookaheadDays);
+            long afterId = 0;
+            int created = 0;
+            while (true) {
+                long chunkAfterId = afterId;
+                ChunkResult chunk;
+                try {
+                    chunk = transactionTemplate.execute(status -> materializeChunk(horizon, chunkAfterId));
+                } catch (RuntimeException e) {
+                    // Porcja wycofana w calosci - powtarzamy ja definicja po definicji, zeby jedna
+                    // bledna definicja nie zatrzymywala co noc wszystkich o wyzszych id
+                    log.warn("Recurring transaction chunk after id {} failed, retrying definition by definition",
+                            chunkAfterId, e);
+                    chunk = materializeOneByOne(horizon, chunkAfterId);
+                }
+                created += chunk.created();
+                if (chunk.definitions() < chunkSize) {
+                    break;
+                }
+                afterId = chunk.lastId();
+            }
+            log.info("Materialized {} recurring transactions up to {}", created, horizon);
+            return created;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ChunkResult materializeChunk(LocalDate horizon, long afterId) {
+        List<RecurringTransaction> due = recurringTransactionRepository.findDue(horizon, afterId, PageRequest.of(0, chunkSize));
+        if (due.isEmpty()) {
+            return new ChunkResult(0, afterId, 0);
+        }
+        return new ChunkResult(due.size(), due.get(due.size() - 1).getId(), materialize(due, horizon));
+    }
+
+    private ChunkResult materializeOneByOne(LocalDate horizon, long afterId) {
+        List<Long> ids = transactionTemplate.execute(status -> recurringTransactionRepository
+                .findDue(horizon, afterId, PageRequest.of(0, chunkSize)).stream()
+                .map(RecurringTransaction::getId)
+                .toList());
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, afterId, 0);
+        }
+
+        int created = 0;
+        for (Long id : ids) {
+            try {
+                // Ten sam warunek co dla porcji - definicja mogla przestac byc zalegla
+                created += transactionTemplate.execute(status -> materialize(
+                        recurringTransactionRepository.findDue(horizon, id - 1, PageRequest.of(0, 1)).stream()
+                                .filter(recurring -> recurring.getId().equals(id))
+                                .toList(),
+                        horizon));
+            } catch (RuntimeException e) {
+                // Definicja zostaje zalegla; kolejny przebieg sprobuje jeszcze raz
+                log.error("Could not materialize recurring transaction {}, skipping", id, e);
+            }
+        }
+        return new ChunkResult(ids.size(), ids.get(ids.size() - 1), created);
+    }
+
+    // Zwraca liczbe utworzonych transakcji
+    private int materialize(List<RecurringTransaction> due, LocalDate horizon) {
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        // Jeden numer zmiany na uzytkownika w porcji
+        Map<Long, Long> changeSeqs = new HashMap<>();
+        BudgetTotalsService.Delta totals = new BudgetTotalsService.Delta();
+        int created = 0;
+        for (RecurringTransaction recurring : due) {
+            // Limit na definicje chroni przed olbrzymia porcja przy dalekiej dacie startu;
+            // reszta zaleglych wystapien powstanie w kolejnym przebiegu
+            int generated = 0;
+            while (recurring.getNextOccurrence() != null
+                    && !recurring.getNextOccurrence().isAfter(horizon)
+                    && generated < maxOccurrencesPerRun) {
+                Transaction occurrence = recurring.newOccurrence();
+                occurrence.setChangeSeq(changeSeqs.computeIfAbsent(recurring.getUser().getId(), changeSequenceService::next));
+                entityManager.persist(occurrence);
+                totals.add(occurrence.getBudget() != null ? occurrence.getBudget().getId() : null,
+                        occurrence.getType(), occurrence.getAmount());
+                recurring.advance();
+                generated++;
+            }
+            created += generated;
+        }
+
+        // INSERT-y transakcji i UPDATE-y definicji ida batchami (hibernate.jdbc.batch_size)
+        entityManager.flush();
+        entityManager.clear();
+        budgetTotalsService.apply(totals);
+        for (Long userId : changeSeqs.keySet()) {
+            eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+        }
+        return created;
+    }
+
+    private record ChunkResult(int definitions, long lastId, int created) {
+    }
+}
\ No newline at end of file
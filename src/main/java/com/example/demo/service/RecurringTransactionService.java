@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.RecurringTransactionDTO;
+import com.example.demo.model.RecurringTransaction;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.RecurringTransactionRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.TransactionReferences;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+public class RecurringTransactionService {
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Transactional
+    public RecurringTransactionDTO createRecurringTransaction(RecurringTransactionDTO request, Long userId) {
+        validate(request);
+
+        Long categoryId = request.getCategoryId();
+        Long budgetId = request.getBudgetId();
+        // To samo zapytanie walidujace co przy zwyklej transakcji
+        TransactionReferences references = categoryRepository.findTransactionReferences(categoryId, budgetId, userId)
+                .orElseThrow(() -> new RuntimeException("Category not found or access denied."));
+        if (budgetId != null && references.getBudgetId() == null) {
+            throw new RuntimeException("Budget not found or access denied.");
+        }
+
+        RecurringTransaction recurring = new RecurringTransaction();
+        recurring.setUser(userRepository.getReferenceById(userId));
+        recurring.setCategory(categoryRepository.getReferenceById(categoryId));
+        recurring.setBudget(budgetId != null ? budgetRepository.getReferenceById(budgetId) : null);
+        recurring.setAmount(request.getAmount());
+        recurring.setDescription(request.getDescription());
+        recurring.setType(request.getType());
+        recurring.setFrequency(request.getFrequency());
+        recurring.setRepeatInterval(request.getRepeatInterval() != null ? request.getRepeatInterval() : 1);
+        recurring.setStartDate(request.getStartDate());
+        recurring.setEndDate(request.getEndDate());
+        recurring.setNextOccurrence(request.getStartDate());
+
+        return RecurringTransactionDTO.from(recurringTransactionRepository.save(recurring));
+    }
+
+    public List<RecurringTransactionDTO> getRecurringTransactions(Long userId) {
+        return recurringTransactionRepository.findByUserIdOrderByIdAsc(userId).stream()
+                .map(RecurringTransactionDTO::from)
+                .toList();
+    }
+
+    // Juz wygenerowane transakcje zostaja; usuwana jest tylko definicja
+    public void deleteRecurringTransaction(Long id, Long userId) {
+        if (recurringTransactionRepository.deleteByIdAndUserId(id, userId) == 0) {
+            throw new RuntimeException("Recurring transaction not found with id: " + id);
+        }
+    }
+
+    private void validate(RecurringTransactionDTO request) {
+        if (request.getCategoryId() == null) {
+            throw new IllegalArgumentException("Category ID must be provided.");
+        }
+        if (request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than zero");
+        }
+        if (request.getType() == null) {
+            throw new IllegalArgumentException("Transaction type must be provided");
+        }
+        if (request.getFrequency() == null) {
+            throw new IllegalArgumentException("Frequency must be provided");
+        }
+        if (request.getRepeatInterval() != null && request.getRepeatInterval() < 1) {
+            throw new IllegalArgumentException("Repeat interval must be at least 1");
+        }
+        if (request.getStartDate() == null) {
+            throw new IllegalArgumentException("Start date must be provided");
+        }
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+}
\ No newline at end of file
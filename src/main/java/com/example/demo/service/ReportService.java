@@ -2,15 +2,14 @@ package com.example.demo.service;
 
 import com.example.demo.dto.BudgetSummaryDTO;
 import com.example.demo.dto.SpendingByCategoryDTO;
-import com.example.demo.model.Budget;
 import com.example.demo.repository.BudgetRepository;
 import com.example.demo.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ReportService {
@@ -21,21 +20,9 @@ public class ReportService {
     @Autowired
     private TransactionRepository transactionRepository;
 
-    @Autowired
-    private BudgetAnalyticsService budgetAnalyticsService;
-
-    public BudgetSummaryDTO getBudgetSummary(Long budgetId) {
-        Budget budget = budgetRepository.findById(budgetId)
-                .orElseThrow(() -> new RuntimeException("Budget not found with id: " + budgetId));
-
-        BigDecimal totalSpent = budgetAnalyticsService.calculateTotalSpent(budgetId);
-
-        BudgetSummaryDTO summary = new BudgetSummaryDTO();
-        summary.setBudgetId(budget.getId());
-        summary.setBudgetName(budget.getName());
-        summary.setTotalSpent(totalSpent);
-
-        return summary;
+    // Jedno zapytanie zamiast ladowania encji budzetu i osobnej sumy; pusto dla cudzego budzetu
+    public Optional<BudgetSummaryDTO> getBudgetSummary(Long budgetId, Long userId) {
+        return budgetRepository.findSummary(budgetId, userId);
     }
 
     public List<SpendingByCategoryDTO> getSpendingByCategory(Long budgetId, LocalDate startDate, LocalDate endDate) {
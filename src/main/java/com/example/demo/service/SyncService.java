@@ -0,0 +1,60 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SyncResponse;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Synchronizacja przyrostowa: zmiany od wersji N to skany zakresu indeksow (user_id, change_seq),
+ * wiec koszt zalezy od liczby zmian, a nie od rozmiaru konta.
+ */
+@Service
+public class SyncService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(Long userId, long since) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+
+        // Wersja czytana przed danymi: zapis zatwierdzony w trakcie najwyzej przyjdzie drugi raz
+        // przy nastepnej synchronizacji, ale nie zginie
+        long version = changeSequenceService.current(userId);
+
+        // since > version: wersja z innej bazy (np. po odtworzeniu) - tylko pelny stan jest pewny
+        if (since == 0 || since > version) {
+            return new SyncResponse(version, true,
+                    transactionRepository.findFirstPageByUserId(userId, Pageable.unpaged()),
+                    budgetRepository.findByUserId(userId),
+                    categoryRepository.findDefaultAndUserCategories(userId),
+                    List.of(),
+                    List.of());
+        }
+
+        return new SyncResponse(version, false,
+                transactionRepository.findChangedSince(userId, since),
+                budgetRepository.findByUserIdAndChangeSeqGreaterThan(userId, since),
+                categoryRepository.findByUserIdAndChangeSeqGreaterThan(userId, since),
+                transactionRepository.findDeletedIdsSince(userId, since),
+                budgetRepository.findDeletedIdsSince(userId, since));
+    }
+}
\ No newline at end of file
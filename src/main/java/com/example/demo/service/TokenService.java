@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.InvalidTokenException;
+import com.example.demo.model.LoginResponse;
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.security.TokenRevocationList;
+import com.example.demo.security.UserStateCache;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TokenService {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private UserStateCache userStateCache;
+
+    public LoginResponse issueTokens(String email, Long userId) {
+        return new LoginResponse(
+                jwtUtil.generateToken(email, userId),
+                jwtUtil.generateRefreshToken(email, userId),
+                email,
+                userId
+        );
+    }
+
+    // Rotacja: stary refresh token jest odwolywany przy kazdym uzyciu
+    public LoginResponse refresh(String refreshToken) {
+        JwtPrincipal principal = parseRefreshToken(refreshToken);
+
+        if (tokenRevocationList.isRevoked(principal.getTokenId())
+                || !userStateCache.isTokenAccepted(principal)) {
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+
+        // Odwolanie jest atomowe - z rownoleglych uzyc tego samego tokena nowa pare dostaje tylko jedno
+        if (!tokenRevocationList.revoke(principal.getTokenId(), principal.getUserId(), principal.getExpiresAt())) {
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+        return issueTokens(principal.getEmail(), principal.getUserId());
+    }
+
+    public void logout(JwtPrincipal accessPrincipal, String refreshToken) {
+        if (accessPrincipal == null) {
+            return;
+        }
+        tokenRevocationList.revoke(accessPrincipal.getTokenId(), accessPrincipal.getUserId(), accessPrincipal.getExpiresAt());
+
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            JwtPrincipal refreshPrincipal = parseRefreshToken(refreshToken);
+            if (!accessPrincipal.getUserId().equals(refreshPrincipal.getUserId())) {
+                throw new InvalidTokenException("Refresh token does not belong to the logged-in user");
+            }
+            tokenRevocationList.revoke(refreshPrincipal.getTokenId(), refreshPrincipal.getUserId(), refreshPrincipal.getExpiresAt());
+        }
+    }
+
+    private JwtPrincipal parseRefreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new InvalidTokenException("Refresh token must be provided");
+        }
+
+        JwtPrincipal principal;
+        try {
+            principal = jwtUtil.parseToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        if (!principal.isRefreshToken()) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+        return principal;
+    }
+}
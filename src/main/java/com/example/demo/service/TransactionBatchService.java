@@ -0,0 +1,155 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.model.Transaction;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tworzenie wielu transakcji w jednym zadaniu: wlasnosc budzetow i kategorii sprawdzana
+ * dwoma zapytaniami na caly zbior, a INSERT-y ida przez batch JDBC (hibernate.jdbc.batch_size).
+ */
+@Service
+public class TransactionBatchService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChangeSequenceService changeSequenceService;
+
+    @Autowired
+    private BudgetTotalsService budgetTotalsService;
+
+    @Value("${transactions.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
+    @Transactional
+    public List<BatchItemResult> createTransactions(List<Transaction> items, Long userId) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one transaction");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + maxBatchSize + " transactions");
+        }
+
+        Set<Long> budgetIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (Transaction item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getBudget() != null && item.getBudget().getId() != null) {
+                budgetIds.add(item.getBudget().getId());
+            }
+            if (item.getCategory() != null && item.getCategory().getId() != null) {
+                categoryIds.add(item.getCategory().getId());
+            }
+        }
+
+        Set<Long> ownedBudgets = budgetIds.isEmpty() ? Set.of() : budgetRepository.findOwnedIds(userId, budgetIds);
+        Set<Long> usableCategories = categoryIds.isEmpty() ? Set.of() : categoryRepository.findUsableIds(userId, categoryIds);
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        List<Transaction> accepted = new ArrayList<>(items.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            Transaction item = items.get(i);
+            String error = validate(item, ownedBudgets, usableCategories);
+            if (error != null) {
+                results.add(BatchItemResult.rejected(i, error));
+                continue;
+            }
+
+            Transaction transaction = new Transaction();
+            // Referencje bez SELECT-ow - do INSERT-a potrzebne sa tylko klucze obce
+            transaction.setUser(userRepository.getReferenceById(userId));
+            transaction.setCategory(categoryRepository.getReferenceById(item.getCategory().getId()));
+            if (item.getBudget() != null && item.getBudget().getId() != null) {
+                transaction.setBudget(budgetRepository.getReferenceById(item.getBudget().getId()));
+            }
+            transaction.setAmount(item.getAmount());
+            transaction.setDescription(item.getDescription());
+            transaction.setType(item.getType());
+            transaction.setDate(item.getDate());
+
+            accepted.add(transaction);
+            acceptedIndexes.add(i);
+            results.add(null);
+        }
+
+        // Jeden numer zmiany na cala paczke i jeden UPDATE sum na budzet
+        BudgetTotalsService.Delta totals = new BudgetTotalsService.Delta();
+        if (!accepted.isEmpty()) {
+            long changeSeq = changeSequenceService.next(userId);
+            for (Transaction transaction : accepted) {
+                transaction.setChangeSeq(changeSeq);
+                totals.add(transaction.getBudget() != null ? transaction.getBudget().getId() : null,
+                        transaction.getType(), transaction.getAmount());
+            }
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(accepted);
+        transactionRepository.flush();
+        budgetTotalsService.apply(totals);
+
+        for (int j = 0; j < saved.size(); j++) {
+            int index = acceptedIndexes.get(j);
+            results.set(index, BatchItemResult.created(index, saved.get(j).getId()));
+            eventPublisher.publishEvent(TransactionChangedEvent.saved(saved.get(j), userId));
+        }
+        return results;
+    }
+
+    private String validate(Transaction item, Set<Long> ownedBudgets, Set<Long> usableCategories) {
+        if (item == null) {
+            return "Transaction cannot be null";
+        }
+        if (item.getCategory() == null || item.getCategory().getId() == null) {
+            return "Category ID must be provided.";
+        }
+        if (!usableCategories.contains(item.getCategory().getId())) {
+            return "Category not found or access denied.";
+        }
+        if (item.getBudget() != null && item.getBudget().getId() != null
+                && !ownedBudgets.contains(item.getBudget().getId())) {
+            return "Budget not found or access denied.";
+        }
+        if (item.getAmount() == null) {
+            return "Amount must be provided.";
+        }
+        if (item.getType() == null) {
+            return "Type must be provided.";
+        }
+        if (item.getDate() == null) {
+            return "Date must be provided.";
+        }
+        return null;
+    }
+}
\ No newline at end of file
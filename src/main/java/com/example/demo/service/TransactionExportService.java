@@ -0,0 +1,157 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.InvalidDateRangeException;
+import com.example.demo.model.Transaction;
+import com.example.demo.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Strumieniowy eksport transakcji uzytkownika (NDJSON lub CSV). Wiersze sa czytane kursorem
+ * i zapisywane od razu do odpowiedzi, a kontekst persystencji jest czyszczony co
+ * {@code flushEvery} wierszy, wiec zuzycie pamieci nie zalezy od liczby transakcji.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum ExportFormat {
+        NDJSON, CSV
+    }
+
+    private static final String CSV_HEADER = "id,date,type,amount,category,budget_id,description";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transactions.export.flush-every:500}")
+    private int flushEvery = 500;
+
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidDateRangeException(
+                    String.format("End date (%s) must not be before start date (%s)", to, from)
+            );
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, Long budgetId, LocalDate from, LocalDate to,
+                       ExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime fromTime = from != null ? from.atStartOfDay() : null;
+        // Data koncowa wlacznie - filtrujemy po poczatku nastepnego dnia
+        LocalDateTime toTime = to != null ? to.plusDays(1).atStartOfDay() : null;
+
+        try (Stream<Transaction> rows = transactionRepository.streamForExport(userId, budgetId, fromTime, toTime)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<Transaction> rows, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            int written = 0;
+            while (rows.hasNext()) {
+                Transaction t = rows.next();
+                json.writeStartObject();
+                json.writeNumberField("id", t.getId());
+                json.writeStringField("date", t.getDate() != null ? t.getDate().toString() : null);
+                json.writeStringField("type", t.getType() != null ? t.getType().name() : null);
+                json.writeNumberField("amount", t.getAmount());
+                json.writeStringField("category", t.getCategory() != null ? t.getCategory().getName() : null);
+                if (t.getBudget() != null) {
+                    json.writeNumberField("budgetId", t.getBudget().getId());
+                } else {
+                    json.writeNullField("budgetId");
+                }
+                json.writeStringField("description", t.getDescription());
+                json.writeEndObject();
+                json.writeRaw('\n');
+
+                if (++written % flushEvery == 0) {
+                    json.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<Transaction> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        int written = 0;
+        while (rows.hasNext()) {
+            Transaction t = rows.next();
+            writer.write(String.valueOf(t.getId()));
+            writer.write(',');
+            writer.write(t.getDate() != null ? t.getDate().toString() : "");
+            writer.write(',');
+            writer.write(t.getType() != null ? t.getType().name() : "");
+            writer.write(',');
+            writer.write(t.getAmount() != null ? t.getAmount().toPlainString() : "");
+            writer.write(',');
+            writer.write(csvField(t.getCategory() != null ? t.getCategory().getName() : null));
+            writer.write(',');
+            writer.write(t.getBudget() != null ? String.valueOf(t.getBudget().getId()) : "");
+            writer.write(',');
+            writer.write(csvField(t.getDescription()));
+            writer.write('\n');
+
+            if (++written % flushEvery == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+    }
+
+    // RFC 4180: pole w cudzyslowach, jesli zawiera separator, cudzyslow lub nowa linie.
+    // Tekst uzytkownika zaczynajacy sie od =, +, -, @ (oraz tab/CR) arkusz potraktowalby jak formule,
+    // dlatego poprzedzamy go apostrofem
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && isFormulaTrigger(value.charAt(0))) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean isFormulaTrigger(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
\ No newline at end of file
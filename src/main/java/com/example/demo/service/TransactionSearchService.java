@@ -0,0 +1,53 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.search.TransactionSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TransactionSearchService {
+
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${transactions.search.default-limit:20}")
+    private int defaultLimit = 20;
+
+    @Value("${transactions.search.max-limit:100}")
+    private int maxLimit = 100;
+
+    // Ranking z indeksu w pamieci, dane wyniku jednym zapytaniem po id
+    public List<TransactionDTO> search(Long userId, String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be greater than zero");
+        }
+        int resolvedLimit = limit == null ? defaultLimit : Math.min(limit, maxLimit);
+
+        List<Long> ids = transactionSearchIndex.search(userId, query, resolvedLimit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TransactionDTO> byId = transactionRepository.findDtosByIdInAndUserId(ids, userId).stream()
+                .collect(Collectors.toMap(TransactionDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
\ No newline at end of file
@@ -1,75 +1,108 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.BulkOperationResult;
+import com.example.demo.dto.BulkTransactionRequest;
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.SpendingByCategoryDTO;
+import com.example.demo.dto.TransactionCursor;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.dto.TransactionFilter;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.exception.InvalidDateRangeException;
 import com.example.demo.model.Budget;
-import com.example.demo.model.Category;
 import com.example.demo.model.Transaction;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
 import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.TransactionSpecifications;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.TransactionAmount;
+import com.example.demo.repository.projection.TransactionReferences;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final BudgetService budgetService;
-    private final CategoryService categoryService;
+    private final UserRepository userRepository;
+    private final BudgetRepository budgetRepository;
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeSequenceService changeSequenceService;
+    private final BudgetTotalsService budgetTotalsService;
+
+    @Value("${transactions.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${transactions.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${transactions.bulk.max-ids:10000}")
+    private int maxBulkIds = 10000;
 
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, BudgetService budgetService, CategoryService categoryService) {
+    public TransactionService(TransactionRepository transactionRepository, BudgetService budgetService,
+                              UserRepository userRepository, BudgetRepository budgetRepository, CategoryRepository categoryRepository,
+                              ApplicationEventPublisher eventPublisher, ChangeSequenceService changeSequenceService,
+                              BudgetTotalsService budgetTotalsService) {
         this.transactionRepository = transactionRepository;
         this.budgetService = budgetService;
-        this.categoryService = categoryService;
+        this.userRepository = userRepository;
+        this.budgetRepository = budgetRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.changeSequenceService = changeSequenceService;
+        this.budgetTotalsService = budgetTotalsService;
     }
 
-    public Transaction createTransaction(Transaction transaction, Long userId) {
-
-        if (transaction.getUser() == null || !transaction.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Transaction must be assigned to the logged-in user.");
-        }
+    // Jedno zapytanie walidujace (kategoria + budzet) i referencje zamiast ladowania encji:
+    // utworzenie transakcji to jeden SELECT i jeden INSERT
+    @Transactional
+    public TransactionDTO createTransaction(Transaction transaction, Long userId) {
 
-        // 1. Walidacja i ustawienie Budżetu (istniejąca logika)
-        if (transaction.getBudget() != null && transaction.getBudget().getId() != null) {
-            Long budgetId = transaction.getBudget().getId();
-
-            Optional<Budget> budget = budgetService.getBudgetById(budgetId);
-            if (budget.isEmpty() || !budget.get().getUser().getId().equals(userId)) {
-                throw new RuntimeException("Budget not found or access denied.");
-            }
-            transaction.setBudget(budget.get());
-        }
-
-        // 2. NOWA LOGIKA: Walidacja i ustawienie KATEGORII
         if (transaction.getCategory() == null || transaction.getCategory().getId() == null) {
             throw new RuntimeException("Category ID must be provided.");
         }
 
         Long categoryId = transaction.getCategory().getId();
-        Optional<Category> categoryOpt = categoryService.getCategoryById(categoryId);
-
-        if (categoryOpt.isEmpty()) {
-            throw new RuntimeException("Category not found.");
-        }
-
-        Category category = categoryOpt.get();
-
-        // Zabezpieczenie (opcjonalnie): Jeśli kategoria nie jest domyślna, musi należeć do użytkownika
-        if (category.getUser() != null && !category.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Access denied: Cannot use this custom category.");
-        }
-
-        transaction.setCategory(category); // Przypisanie pełnego obiektu Category
-
-        return transactionRepository.save(transaction);
+        Long budgetId = transaction.getBudget() != null ? transaction.getBudget().getId() : null;
+        TransactionReferences references = validateReferences(categoryId, budgetId, userId);
+
+        // Id z body zignorowane - inaczej save() zrobilby merge istniejacego wiersza
+        transaction.setId(null);
+        transaction.setUser(userRepository.getReferenceById(userId));
+        transaction.setCategory(categoryRepository.getReferenceById(categoryId));
+        transaction.setBudget(budgetId != null ? budgetRepository.getReferenceById(budgetId) : null);
+        transaction.setDeleted(false);
+        transaction.setChangeSeq(changeSequenceService.next(userId));
+
+        Transaction saved = transactionRepository.save(transaction);
+        budgetTotalsService.apply(new BudgetTotalsService.Delta()
+                .add(budgetId, saved.getType(), saved.getAmount()));
+        eventPublisher.publishEvent(TransactionChangedEvent.saved(saved, userId));
+        return toDto(saved, categoryId, references);
     }
 
     public Optional<Transaction> getTransactionById(Long id) {
         return transactionRepository.findById(id);
     }
 
+    // Jedno zapytanie z filtrem po wlascicielu - bez ladowania encji i jej powiazan
+    public Optional<TransactionDTO> getTransactionDto(Long id, Long userId) {
+        return transactionRepository.findDtoByIdAndUserId(id, userId);
+    }
+
     public List<Transaction> getTransactionsByUserId(Long userId) {
         return transactionRepository.findByUserId(userId);
     }
@@ -84,54 +117,216 @@ public class TransactionService {
         return transactionRepository.findByBudgetId(budgetId);
     }
 
-    public Transaction updateTransaction(Long id, Transaction updatedTransaction, Long userId) {
-        return transactionRepository.findById(id)
-                .map(transaction -> {
-                    if (!transaction.getUser().getId().equals(userId)) {
-                        throw new RuntimeException("Access denied: Transaction does not belong to user.");
-                    }
+    public CursorPage<TransactionDTO> getTransactionPageByUserId(Long userId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Pobieramy jeden rekord wiecej, zeby wiedziec czy istnieje nastepna strona
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdBefore(userId, position.getDate(), position.getId(), limit);
+        }
+        return toPage(rows, pageSize);
+    }
 
-                    // 1. NOWA LOGIKA: Walidacja i ustawienie KATEGORII
-                    if (updatedTransaction.getCategory() == null || updatedTransaction.getCategory().getId() == null) {
-                        throw new RuntimeException("Category ID must be provided.");
-                    }
+    public CursorPage<TransactionDTO> getTransactionPageByBudgetId(Long budgetId, Long userId, String cursor, Integer size) {
 
-                    Long categoryId = updatedTransaction.getCategory().getId();
-                    Optional<Category> categoryOpt = categoryService.getCategoryById(categoryId);
+        Optional<Budget> budget = budgetService.getBudgetById(budgetId);
+        if (budget.isEmpty() || !budget.get().getUser().getId().equals(userId)) {
+            throw new RuntimeException("Budget not found or access denied.");
+        }
 
-                    if (categoryOpt.isEmpty()) {
-                        throw new RuntimeException("Category not found.");
-                    }
+        int pageSize = resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
 
-                    Category category = categoryOpt.get();
+        List<TransactionDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findFirstPageByBudgetId(budgetId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByBudgetIdBefore(budgetId, position.getDate(), position.getId(), limit);
+        }
+        return toPage(rows, pageSize);
+    }
 
-                    // Zabezpieczenie (opcjonalnie): Jeśli kategoria nie jest domyślna, musi należeć do użytkownika
-                    if (category.getUser() != null && !category.getUser().getId().equals(userId)) {
-                        throw new RuntimeException("Access denied: Cannot use this custom category.");
-                    }
+    public CursorPage<TransactionDTO> filterTransactions(Long userId, TransactionFilter filter, String cursor, Integer size) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getTo().isBefore(filter.getFrom())) {
+            throw new InvalidDateRangeException(
+                    String.format("End date (%s) must not be before start date (%s)", filter.getTo(), filter.getFrom())
+            );
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("Minimum amount must not be greater than maximum amount");
+        }
 
-                    transaction.setCategory(category); // Przypisanie pełnego obiektu Category
+        int pageSize = resolvePageSize(size);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        List<TransactionDTO> rows = transactionRepository.findFiltered(
+                TransactionSpecifications.matching(userId, filter), after, pageSize + 1);
+        return toPage(rows, pageSize);
+    }
 
-                    // 2. Aktualizacja pozostałych pól
-                    transaction.setAmount(updatedTransaction.getAmount());
-                    transaction.setDescription(updatedTransaction.getDescription());
-                    transaction.setType(updatedTransaction.getType());
-                    transaction.setDate(updatedTransaction.getDate());
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        return Math.min(size, maxPageSize);
+    }
 
-                    return transactionRepository.save(transaction);
-                })
-                .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+    private CursorPage<TransactionDTO> toPage(List<TransactionDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TransactionDTO> items = rows.subList(0, pageSize);
+        TransactionDTO last = items.get(items.size() - 1);
+        return new CursorPage<>(items, new TransactionCursor(last.getDate(), last.getId()).encode());
     }
 
-    public void deleteTransaction(Long id, Long userId) {
+    @Transactional
+    public TransactionDTO updateTransaction(Long id, Transaction updatedTransaction, Long userId) {
+        // Najpierw blokada uzytkownika - stara kwota i budzet czytane pod nia, wiec rownolegla
+        // zmiana tej samej transakcji nie przesunie sum budzetu
+        long changeSeq = changeSequenceService.next(userId);
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
 
+        // getUser().getId() na proxy LAZY nie wymaga dodatkowego zapytania
         if (!transaction.getUser().getId().equals(userId)) {
             throw new RuntimeException("Access denied: Transaction does not belong to user.");
         }
 
-        transactionRepository.deleteById(id);
+        if (updatedTransaction.getCategory() == null || updatedTransaction.getCategory().getId() == null) {
+            throw new RuntimeException("Category ID must be provided.");
+        }
+
+        Long categoryId = updatedTransaction.getCategory().getId();
+        // Budzet zmieniamy tylko, gdy zostal podany; inaczej walidujemy (i opisujemy) obecny
+        boolean budgetChanged = updatedTransaction.getBudget() != null && updatedTransaction.getBudget().getId() != null;
+        Long budgetId = budgetChanged
+                ? updatedTransaction.getBudget().getId()
+                : (transaction.getBudget() != null ? transaction.getBudget().getId() : null);
+
+        TransactionReferences references = validateReferences(categoryId, budgetId, userId);
+
+        // Stare wartosci przed zmiana - roznica trafia do sum obu budzetow przy przeniesieniu
+        BudgetTotalsService.Delta totals = new BudgetTotalsService.Delta()
+                .remove(transaction.getBudget() != null ? transaction.getBudget().getId() : null,
+                        transaction.getType(), transaction.getAmount());
+
+        transaction.setCategory(categoryRepository.getReferenceById(categoryId));
+        if (budgetChanged) {
+            transaction.setBudget(budgetRepository.getReferenceById(budgetId));
+        }
+        transaction.setAmount(updatedTransaction.getAmount());
+        transaction.setDescription(updatedTransaction.getDescription());
+        transaction.setType(updatedTransaction.getType());
+        transaction.setDate(updatedTransaction.getDate());
+        transaction.setChangeSeq(changeSeq);
+
+        Transaction saved = transactionRepository.save(transaction);
+        budgetTotalsService.apply(totals.add(budgetId, saved.getType(), saved.getAmount()));
+        eventPublisher.publishEvent(TransactionChangedEvent.saved(saved, userId));
+        return toDto(saved, categoryId, references);
+    }
+
+    private TransactionReferences validateReferences(Long categoryId, Long budgetId, Long userId) {
+        TransactionReferences references = categoryRepository.findTransactionReferences(categoryId, budgetId, userId)
+                .orElseThrow(() -> new RuntimeException("Category not found or access denied."));
+
+        if (budgetId != null && references.getBudgetId() == null) {
+            throw new RuntimeException("Budget not found or access denied.");
+        }
+        return references;
+    }
+
+    // Nazwy pochodza z zapytania walidujacego - bez inicjalizacji proxy kategorii i budzetu
+    private TransactionDTO toDto(Transaction transaction, Long categoryId, TransactionReferences references) {
+        return new TransactionDTO(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getDescription(),
+                transaction.getType(),
+                transaction.getDate(),
+                categoryId,
+                references.getCategoryName(),
+                references.getBudgetId(),
+                references.getBudgetName()
+        );
+    }
+
+    // Odczyt samej kwoty (do sum budzetu) i jedno UPDATE z filtrem po wlascicielu; oba pod
+    // blokada uzytkownika, zeby rownolegle usuniecie nie odjelo kwoty od sum dwa razy
+    @Transactional
+    public void deleteTransaction(Long id, Long userId) {
+        long changeSeq = changeSequenceService.next(userId);
+        TransactionAmount amount = transactionRepository.findAmountByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
+        if (transactionRepository.markDeletedByIdAndUserId(id, userId, changeSeq) == 0) {
+            throw new RuntimeException("Transaction not found with id: " + id);
+        }
+        budgetTotalsService.apply(new BudgetTotalsService.Delta()
+                .remove(amount.getBudgetId(), amount.getType(), amount.getAmount()));
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(id, userId));
+    }
+
+    @Transactional
+    public BulkOperationResult deleteTransactions(BulkTransactionRequest request, Long userId) {
+        Specification<Transaction> selection = bulkSelection(request, userId);
+        // Sumy usuwanych transakcji per budzet liczone w bazie przed UPDATE-em, ale juz pod
+        // blokada uzytkownika - inaczej rownolegla zmiana wpadlaby miedzy SUM a UPDATE
+        long changeSeq = changeSequenceService.next(userId);
+        BudgetTotalsService.Delta totals = new BudgetTotalsService.Delta();
+        transactionRepository.sumByBudgetMatching(selection).forEach(totals::remove);
+
+        int deleted = transactionRepository.deleteMatching(selection, changeSeq);
+        if (deleted > 0) {
+            budgetTotalsService.apply(totals);
+            eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+        }
+        return new BulkOperationResult(deleted);
+    }
+
+    @Transactional
+    public BulkOperationResult recategorizeTransactions(BulkTransactionRequest request, Long userId) {
+        Long categoryId = request.getCategoryId();
+        if (categoryId == null) {
+            throw new IllegalArgumentException("Category ID must be provided.");
+        }
+        if (categoryRepository.findUsableIds(userId, Set.of(categoryId)).isEmpty()) {
+            throw new IllegalArgumentException("Category not found or access denied.");
+        }
+
+        Specification<Transaction> selection = bulkSelection(request, userId);
+        int updated = transactionRepository.updateCategoryMatching(selection, categoryId, changeSequenceService.next(userId));
+        if (updated > 0) {
+            eventPublisher.publishEvent(TransactionChangedEvent.bulk(userId));
+        }
+        return new BulkOperationResult(updated);
+    }
+
+    // Zawsze z filtrem po wlascicielu; pusty wybor odrzucamy, zeby nie zmienic wszystkich transakcji
+    private Specification<Transaction> bulkSelection(BulkTransactionRequest request, Long userId) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (!hasIds && !hasFilter) {
+            throw new IllegalArgumentException("Bulk operation requires transaction ids or at least one filter criterion");
+        }
+        if (hasIds && request.getIds().size() > maxBulkIds) {
+            throw new IllegalArgumentException("Bulk operation cannot list more than " + maxBulkIds + " ids, use a filter instead");
+        }
+
+        Specification<Transaction> selection = TransactionSpecifications.matching(userId, hasFilter ? request.getFilter() : null);
+        if (hasIds) {
+            selection = selection.and(TransactionSpecifications.idIn(request.getIds()));
+        }
+        return selection;
     }
 
     public List<SpendingByCategoryDTO> getSpendingByCategory(Long budgetId, Long userId) {
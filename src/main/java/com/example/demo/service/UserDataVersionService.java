@@ -0,0 +1,68 @@
+package com.example.demo.service;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wersja danych uzytkownika (transakcje, budzety, kategorie) dla warunkowych GET-ow. Kazdy zapis
+ * podbija wersje po commicie, a ETag listy to "epoka-wersja". Nowe wartosci pochodza z jednego
+ * rosnacego licznika, wiec wpis wyrzucony z cache nigdy nie wraca do wczesniej wydanego ETagu;
+ * losowa epoka rozroznia kolejne uruchomienia aplikacji.
+ */
+@Service
+public class UserDataVersionService {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${etag.versions.max-users:100000}")
+    private long maxUsers;
+
+    private Cache<Long, Long> versions;
+
+    @PostConstruct
+    void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    // Odczytywac przed zapytaniem o dane - zmiana w trakcie da nowszy ETag przy kolejnym GET
+    public String currentEtag(Long userId) {
+        long version = versions.get(userId, key -> sequence.incrementAndGet());
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    // Podbicie dopiero po commicie: przed nim czytajacy dostalby nowy ETag ze starymi danymi
+    public void markChanged(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId);
+                }
+            });
+        } else {
+            bump(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    private void bump(Long userId) {
+        versions.asMap().compute(userId, (key, previous) -> sequence.incrementAndGet());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.example.demo.stream;
+
+import com.example.demo.dto.AccountChangeDTO;
+import com.example.demo.dto.BudgetTotalsDTO;
+import com.example.demo.event.BudgetChangedEvent;
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.repository.BudgetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strumien zmian konta per uzytkownik (GET /api/events) zamiast odpytywania /spent, /earned
+ * i /balance. Zdarzenia "change" ida po commicie; sumy budzetow ("budget-totals") sa liczone
+ * jednym zapytaniem dla uzytkownika i zbierane w okno flush-ms, wiec import tysiecy transakcji
+ * to kilka przeliczen, a nie tysiace. Uzytkownicy bez otwartego polaczenia nic nie kosztuja.
+ */
+@Component
+public class AccountEventBroadcaster {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${sse.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${sse.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${sse.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    private final Map<Long, Deque<SseConnection>> connections = new ConcurrentHashMap<>();
+    private final Set<Long> staleTotals = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor senders;
+    private ExecutorService writers;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Kolejka bez limitu: kazde polaczenie ma w niej najwyzej jedno zadanie
+        senders = new ThreadPoolExecutor(
+                senderThreads, senderThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        // Watki piszace do gniazd: zawieszony klient trzyma najwyzej jeden (jego polaczenie jest
+        // juz zamkniete), a pula wysylajacych obsluguje dalej pozostale polaczenia
+        AtomicInteger writerNumber = new AtomicInteger();
+        writers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sse-writer-" + writerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(SseConnection::close));
+        senders.shutdown();
+        writers.shutdown();
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseConnection connection = new SseConnection(userId, emitter, bufferSize, senders, writers, sendTimeoutMillis);
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+
+        // Dodanie w compute - remove() nie moze w tym czasie wyrzucic pustej kolejki z mapy
+        List<SseConnection> evicted = new ArrayList<>();
+        connections.compute(userId, (key, userConnections) -> {
+            Deque<SseConnection> target = userConnections != null ? userConnections : new ConcurrentLinkedDeque<>();
+            target.addLast(connection);
+            // Limit kart na uzytkownika - najstarsze polaczenie ustepuje nowemu
+            while (target.size() > maxConnectionsPerUser) {
+                evicted.add(target.pollFirst());
+            }
+            return target;
+        });
+        evicted.forEach(SseConnection::close);
+
+        // Stan poczatkowy: nowy klient dostaje sumy przy najblizszym flushu
+        staleTotals.add(userId);
+        return emitter;
+    }
+
+    public int connectionCount(Long userId) {
+        Deque<SseConnection> userConnections = connections.get(userId);
+        return userConnections != null ? userConnections.size() : 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        publishChange(event.getUserId(), new AccountChangeDTO("transaction",
+                event.getKind().name().toLowerCase(Locale.ROOT), event.getTransactionId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetChanged(BudgetChangedEvent event) {
+        publishChange(event.getUserId(), new AccountChangeDTO("budget",
+                event.getKind().name().toLowerCase(Locale.ROOT), event.getBudgetId()));
+    }
+
+    @Scheduled(fixedDelayString = "${sse.totals-flush-ms:500}")
+    public void flushTotals() {
+        for (Long userId : staleTotals) {
+            staleTotals.remove(userId);
+            if (connectionCount(userId) == 0) {
+                continue;
+            }
+            List<BudgetTotalsDTO> totals = budgetRepository.findTotalsByUserId(userId);
+            broadcast(userId, "budget-totals", totals);
+        }
+    }
+
+    // Komentarz co kilkanascie sekund: proxy nie zamyka bezczynnego polaczenia, a martwe
+    // polaczenia wychodza na jaw przy zapisie
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections ->
+                userConnections.forEach(connection -> connection.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    private void publishChange(Long userId, AccountChangeDTO change) {
+        if (connectionCount(userId) == 0) {
+            return;
+        }
+        broadcast(userId, "change", change);
+        staleTotals.add(userId);
+    }
+
+    private void broadcast(Long userId, String name, Object data) {
+        Deque<SseConnection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        for (SseConnection connection : userConnections) {
+            // Budowniczy zdarzenia jest jednorazowy - kazde polaczenie dostaje wlasny
+            if (!connection.offer(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON))) {
+                remove(connection);
+            }
+        }
+    }
+
+    private void remove(SseConnection connection) {
+        connection.close();
+        connections.computeIfPresent(connection.getUserId(), (userId, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+}
\ No newline at end of file
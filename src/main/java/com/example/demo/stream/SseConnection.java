@@ -0,0 +1,144 @@
+package com.example.demo.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Jedno polaczenie SSE z ograniczonym buforem. Zdarzenia wysyla watek z puli (najwyzej jedno
+ * zadanie na polaczenie naraz), wiec wolny klient nie blokuje publikujacego. Gdy bufor sie
+ * zapelni, polaczenie jest zamykane - EventSource polaczy sie ponownie i pobierze stan od nowa.
+ * Sam zapis do gniazda idzie na watku piszacym i ma termin: watek z puli czeka na niego najwyzej
+ * sendTimeoutMillis, wiec zawieszony klient nie zajmuje wspolnej puli do timeoutu gniazda.
+ */
+class SseConnection {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final Executor executor;
+    private final Executor writer;
+    private final long sendTimeoutMillis;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean open = true;
+
+    SseConnection(Long userId, SseEmitter emitter, int bufferSize, Executor executor,
+                  Executor writer, long sendTimeoutMillis) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+        this.writer = writer;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * @return false gdy polaczenie jest zamkniete albo wlasnie zostalo zamkniete jako zbyt wolne
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (!open) {
+            return false;
+        }
+        if (!queue.offer(event)) {
+            close();
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    // Samo complete() robi watek wysylajacy - send() i complete() emitera synchronizuja sie
+    // na tym samym monitorze, wiec wolajacy nie moze czekac na zablokowany zapis
+    void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        queue.clear();
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        CompletableFuture<Void> stalled = null;
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (open && (event = queue.poll()) != null) {
+                CompletableFuture<Void> write = write(event);
+                try {
+                    write.get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Klient nie odbiera - zapis zostaje na watku piszacym, a watek z puli
+                    // wraca do pozostalych polaczen
+                    stalled = write;
+                    open = false;
+                    queue.clear();
+                }
+            }
+        } catch (ExecutionException | RejectedExecutionException e) {
+            // Klient rozlaczony lub emiter juz zakonczony
+            open = false;
+            queue.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            open = false;
+            queue.clear();
+        } finally {
+            draining.set(false);
+        }
+
+        if (stalled != null) {
+            // complete() czeka na ten sam lock co send() - emiter konczy watek piszacy po zwolnieniu zapisu
+            stalled.whenComplete((ignored, error) -> completeEmitter());
+        } else if (!open) {
+            completeEmitter();
+        } else if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private CompletableFuture<Void> write(SseEmitter.SseEventBuilder event) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                emitter.send(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+    }
+
+    private void completeEmitter() {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // juz zakonczony
+        }
+    }
+}
\ No newline at end of file
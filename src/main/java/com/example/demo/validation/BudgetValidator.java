@@ -24,6 +24,12 @@ public class BudgetValidator {
         if (budget.getUser() == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
+        if (budget.getLimit() == null) {
+            throw new IllegalArgumentException("Budget limit cannot be null");
+        }
+        if (budget.getLimit().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Budget limit must be greater than zero");
+        }
     }
 
     private void validateDateRange(Budget budget) {
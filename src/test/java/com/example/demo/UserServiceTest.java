@@ -2,6 +2,7 @@ package com.example.demo.service;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserStateCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +28,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserStateCache userStateCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -73,38 +77,6 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
-    @Test
-    void loginUser_ShouldSucceed_WithCorrectPassword() {
-        setupPasswordEncoder();
-        String hashedPassword = realEncoder.encode("plainPassword123");
-        testUser.setPassword(hashedPassword);
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
-
-        User loggedInUser = userService.loginUser("test@example.com", "plainPassword123");
-
-        assertNotNull(loggedInUser);
-        assertEquals(testUser.getEmail(), loggedInUser.getEmail());
-    }
-
-    @Test
-    void loginUser_ShouldFail_WithWrongPassword() {
-        setupPasswordEncoder();
-        String hashedPassword = realEncoder.encode("plainPassword123");
-        testUser.setPassword(hashedPassword);
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
-
-        assertThrows(IllegalArgumentException.class,
-                     () -> userService.loginUser("test@example.com", "wrongPassword"));
-    }
-
-    @Test
-    void loginUser_ShouldFail_WhenUserNotFound() {
-        when(userRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
-
-        assertThrows(IllegalArgumentException.class,
-                     () -> userService.loginUser("nonexistent@example.com", "anyPassword"));
-    }
-
     @Test
     void changePassword_ShouldSucceed_WithCorrectOldPassword() {
         setupPasswordEncoder();
@@ -119,6 +91,8 @@ class UserServiceTest {
         assertNotEquals(hashedOldPassword, testUser.getPassword(), "Password should be changed");
         assertTrue(realEncoder.matches("newPassword456", testUser.getPassword()),
                    "New password should match");
+        assertNotNull(testUser.getCredentialsChangedAt(), "Old tokens should be invalidated");
+        verify(userStateCache, times(1)).invalidate(1L);
     }
 
     @Test
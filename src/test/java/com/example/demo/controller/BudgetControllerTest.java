@@ -178,7 +178,7 @@ class BudgetControllerTest {
 
     @Test
     void deleteBudget_ShouldReturnNoContent_WhenBudgetExists() throws Exception {
-        doNothing().when(budgetService).deleteBudget(1L);
+        doNothing().when(budgetService).deleteBudget(eq(1L), any());
 
         mockMvc.perform(delete("/api/budgets/1"))
                 .andDo(print())
@@ -187,7 +187,7 @@ class BudgetControllerTest {
 
     @Test
     void deleteBudget_ShouldReturnNotFound_WhenBudgetDoesNotExist() throws Exception {
-        doThrow(new RuntimeException("Budget not found")).when(budgetService).deleteBudget(999L);
+        doThrow(new RuntimeException("Budget not found")).when(budgetService).deleteBudget(eq(999L), any());
 
         mockMvc.perform(delete("/api/budgets/999"))
                 .andDo(print())
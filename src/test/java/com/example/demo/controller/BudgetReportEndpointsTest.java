@@ -0,0 +1,115 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.BudgetSummaryDTO;
+import com.example.demo.dto.BudgetUsageReport;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.service.TransactionService;
+import com.example.demo.support.BudgetFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/budgets/{id}/summary, GET /api/reports/budget/{id}/summary i GET /api/budgets/usage
+ * na prawdziwej bazie - w tym dostep do cudzego budzetu. Testowa konfiguracja security nie uwierzytelnia, wiec principal jest
+ * przekazywany wprost do kontrolera.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, BudgetFixtures.class})
+class BudgetReportEndpointsTest {
+
+    @Autowired
+    private BudgetController budgetController;
+
+    @Autowired
+    private ReportController reportController;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetFixtures fixtures;
+
+    private User owner;
+    private JwtPrincipal ownerPrincipal;
+    private JwtPrincipal strangerPrincipal;
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        owner = fixtures.createUser("owner");
+        User stranger = fixtures.createUser("stranger");
+        ownerPrincipal = principal(owner);
+        strangerPrincipal = principal(stranger);
+
+        budget = fixtures.createBudget(owner, "Groceries", "500.00");
+        Category category = fixtures.createCategory(owner, "Food");
+        transactionService.createTransaction(
+                fixtures.transaction(category, budget, "420.00", TransactionType.EXPENSE), owner.getId());
+    }
+
+    private static JwtPrincipal principal(User user) {
+        return new JwtPrincipal(user.getId(), user.getEmail(), "jti", "access",
+                Instant.now(), Instant.now().plusSeconds(60));
+    }
+
+    @Test
+    void getBudgetSummary_ShouldReturnOwnersSummary() {
+        ResponseEntity<BudgetSummaryDTO> response = budgetController.getBudgetSummary(budget.getId(), ownerPrincipal);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getBudgetName()).isEqualTo("Groceries");
+        assertThat(response.getBody().getTotalSpent()).isEqualByComparingTo("420.00");
+        assertThat(response.getBody().getRemainingAmount()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void getBudgetSummary_ShouldReturnNotFound_ForOtherUsersBudget() {
+        ResponseEntity<BudgetSummaryDTO> response = budgetController.getBudgetSummary(budget.getId(), strangerPrincipal);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void reportsSummary_ShouldReturnNotFound_ForOtherUsersBudget() {
+        ResponseEntity<BudgetSummaryDTO> own = reportController.getBudgetSummary(budget.getId(), ownerPrincipal);
+        ResponseEntity<BudgetSummaryDTO> foreign = reportController.getBudgetSummary(budget.getId(), strangerPrincipal);
+
+        assertThat(own.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(own.getBody().getTotalSpent()).isEqualByComparingTo("420.00");
+        assertThat(foreign.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(foreign.getBody()).isNull();
+    }
+
+    @Test
+    void getBudgetUsage_ShouldListOnlyOwnBudgets() {
+        ResponseEntity<List<BudgetUsageReport>> ownerUsage = budgetController.getBudgetUsage(ownerPrincipal);
+        ResponseEntity<List<BudgetUsageReport>> strangerUsage = budgetController.getBudgetUsage(strangerPrincipal);
+
+        assertThat(ownerUsage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ownerUsage.getBody()).singleElement().satisfies(report -> {
+            assertThat(report.getBudgetId()).isEqualTo(budget.getId());
+            assertThat(report.getPercentageUsed()).isEqualTo(84.0);
+            assertThat(report.getStatus()).isEqualTo(BudgetUsageReport.STATUS_NEAR_LIMIT);
+        });
+        assertThat(strangerUsage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(strangerUsage.getBody()).isEmpty();
+    }
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.dto.BudgetSummaryDTO;
 import com.example.demo.dto.SpendingByCategoryDTO;
+import com.example.demo.security.JwtPrincipal;
 import com.example.demo.service.ReportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,9 +14,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -31,9 +35,13 @@ class ReportControllerTest {
 
     private BudgetSummaryDTO testSummary;
     private SpendingByCategoryDTO testCategorySpending;
+    private JwtPrincipal principal;
 
     @BeforeEach
     void setUp() {
+        Instant now = Instant.now();
+        principal = new JwtPrincipal(7L, "test@example.com", "jti", "access", now, now.plus(15, ChronoUnit.MINUTES));
+
         testSummary = new BudgetSummaryDTO();
         testSummary.setBudgetId(1L);
         testSummary.setBudgetName("Monthly Budget");
@@ -48,14 +56,24 @@ class ReportControllerTest {
 
     @Test
     void getBudgetSummary_ShouldReturnSummary() {
-        when(reportService.getBudgetSummary(1L)).thenReturn(testSummary);
+        when(reportService.getBudgetSummary(1L, 7L)).thenReturn(Optional.of(testSummary));
 
-        ResponseEntity<BudgetSummaryDTO> response = reportController.getBudgetSummary(1L);
+        ResponseEntity<BudgetSummaryDTO> response = reportController.getBudgetSummary(1L, principal);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getBudgetId()).isEqualTo(1L);
-        verify(reportService, times(1)).getBudgetSummary(1L);
+        verify(reportService, times(1)).getBudgetSummary(1L, 7L);
+    }
+
+    @Test
+    void getBudgetSummary_ShouldReturnNotFound_WhenBudgetBelongsToAnotherUser() {
+        when(reportService.getBudgetSummary(1L, 7L)).thenReturn(Optional.empty());
+
+        ResponseEntity<BudgetSummaryDTO> response = reportController.getBudgetSummary(1L, principal);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNull();
     }
 
     @Test
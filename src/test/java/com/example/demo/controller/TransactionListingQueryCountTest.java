@@ -0,0 +1,203 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.JwtPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pilnuje, zeby listowanie transakcji nie wracalo do N+1 (liczba zapytan nie zalezy od liczby
+ * wierszy), a zapis transakcji nie ladowal encji powiazanych.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class TransactionListingQueryCountTest {
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JwtPrincipal principal;
+    private Budget budget;
+    private Long categoryId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        User user = new User();
+        user.setUsername("listing-" + suffix);
+        user.setEmail("listing-" + suffix + "@example.com");
+        user.setPassword("hash");
+        user = userRepository.save(user);
+
+        budget = new Budget();
+        budget.setUser(user);
+        budget.setName("Monthly");
+        budget.setStartDate(LocalDate.of(2025, 1, 1));
+        budget = budgetRepository.save(budget);
+
+        Category food = categoryRepository.save(new Category("Food-" + suffix, user, false));
+        Category fuel = categoryRepository.save(new Category("Fuel-" + suffix, user, false));
+        categoryId = food.getId();
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setBudget(i % 2 == 0 ? budget : null);
+            transaction.setCategory(i % 3 == 0 ? food : fuel);
+            transaction.setAmount(BigDecimal.valueOf(10 + i));
+            transaction.setType(TransactionType.EXPENSE);
+            transaction.setDescription("Row " + i);
+            transaction.setDate(LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i));
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        principal = new JwtPrincipal(user.getId(), user.getEmail(), "jti", "access",
+                Instant.now(), Instant.now().plusSeconds(60));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingUserTransactions_ShouldUseSingleQueryPerPage() throws Exception {
+        ResponseEntity<CursorPage<TransactionDTO>> first = transactionController.getAllTransactions(null, 20, principal, webRequest());
+        String json = objectMapper.writeValueAsString(first.getBody());
+
+        assertThat(first.getBody().getItems()).hasSize(20);
+        assertThat(json).doesNotContain("password");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        ResponseEntity<CursorPage<TransactionDTO>> second =
+                transactionController.getAllTransactions(first.getBody().getNextCursor(), 20, principal, webRequest());
+        objectMapper.writeValueAsString(second.getBody());
+
+        assertThat(second.getBody().getItems()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/transactions"), new MockHttpServletResponse());
+    }
+
+    @Test
+    void listingUserTransactions_ShouldReturn304WithoutQueries_UntilDataChanges() {
+        ResponseEntity<CursorPage<TransactionDTO>> first = transactionController.getAllTransactions(null, 20, principal, webRequest());
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/api/transactions");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        statistics.clear();
+        ResponseEntity<CursorPage<TransactionDTO>> notModified = transactionController.getAllTransactions(
+                null, 20, principal, new ServletWebRequest(conditional, new MockHttpServletResponse()));
+
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Transaction request = new Transaction();
+        request.setCategory(new Category(categoryId));
+        request.setAmount(new BigDecimal("1.00"));
+        request.setType(TransactionType.EXPENSE);
+        request.setDate(LocalDateTime.of(2025, 3, 1, 12, 0));
+        transactionController.createTransaction(request, null, principal);
+
+        MockHttpServletRequest afterWrite = new MockHttpServletRequest("GET", "/api/transactions");
+        afterWrite.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<CursorPage<TransactionDTO>> changed = transactionController.getAllTransactions(
+                null, 20, principal, new ServletWebRequest(afterWrite, new MockHttpServletResponse()));
+
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void listingBudgetTransactions_ShouldUseOwnershipCheckPlusSingleQuery() throws Exception {
+        ResponseEntity<CursorPage<TransactionDTO>> page =
+                transactionController.getAllTransactionsByBudgetId(budget.getId(), null, 50, principal);
+        objectMapper.writeValueAsString(page.getBody());
+
+        assertThat(page.getBody().getItems()).hasSize(15);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void createTransaction_ShouldValidateWithOneQueryAndLoadNoEntities() {
+        Transaction request = new Transaction();
+        request.setBudget(new Budget(budget.getId()));
+        request.setCategory(new Category(categoryId));
+        request.setAmount(new BigDecimal("42.00"));
+        request.setType(TransactionType.EXPENSE);
+        request.setDescription("Created");
+        request.setDate(LocalDateTime.of(2025, 2, 1, 12, 0));
+
+        ResponseEntity<?> response = transactionController.createTransaction(request, null, principal);
+
+        TransactionDTO created = (TransactionDTO) response.getBody();
+        assertThat(created.getCategory().getName()).startsWith("Food-");
+        assertThat(created.getBudget().getName()).isEqualTo("Monthly");
+        // Walidacja referencji jednym zapytaniem + numer zmiany (UPDATE + SELECT licznika) + INSERT
+        // + UPDATE sum budzetu (budget_totals)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+}
\ No newline at end of file
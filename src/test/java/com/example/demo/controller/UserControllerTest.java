@@ -1,20 +1,19 @@
 package com.example.demo.controller;
 
-import com.example.demo.model.User;
-import com.example.demo.security.JwtUtil;
+import com.example.demo.model.LoginResponse;
+import com.example.demo.service.LoginService;
 import com.example.demo.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Optional;
-
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -37,21 +36,12 @@ class UserControllerTest {
     private UserService userService;
 
     @MockitoBean
-    private JwtUtil jwtUtil;
-
-    @MockitoBean
-    private PasswordEncoder passwordEncoder;
+    private LoginService loginService;
 
     @Test
     void login_ShouldReturnJwtToken_WhenCredentialsAreValid() throws Exception {
-        User user = new User();
-        user.setId(1L);
-        user.setEmail("test@example.com");
-        user.setPassword("$2a$10$fakeHashedPassword");
-
-        when(userService.getUserByEmail(anyString())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtUtil.generateToken("test@example.com", 1L)).thenReturn("fake.jwt.token");
+        when(loginService.login(eq("test@example.com"), eq("myPassword123"), any()))
+                .thenReturn(new LoginResponse("fake.jwt.token", "fake.refresh.token", "test@example.com", 1L));
 
         mockMvc.perform(post("/api/users/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -59,6 +49,18 @@ class UserControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("fake.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("fake.refresh.token"))
                 .andExpect(jsonPath("$.email").value("test@example.com"));
     }
+
+    @Test
+    void login_ShouldReturnUnauthorized_WhenCredentialsAreInvalid() throws Exception {
+        when(loginService.login(eq("test@example.com"), eq("wrongPassword"), any()))
+                .thenThrow(new BadCredentialsException("Invalid credentials"));
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"test@example.com\",\"password\":\"wrongPassword\"}"))
+                .andExpect(status().isUnauthorized());
+    }
 }
\ No newline at end of file
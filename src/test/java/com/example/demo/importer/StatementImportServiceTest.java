@@ -0,0 +1,77 @@
+package com.example.demo.importer;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.User;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class StatementImportServiceTest {
+
+    @Autowired
+    private StatementImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        user = new User();
+        user.setUsername("import-" + suffix);
+        user.setEmail("import-" + suffix + "@example.com");
+        user.setPassword("hash");
+        user = userRepository.save(user);
+        category = categoryRepository.save(new Category("Import-" + suffix, user, false));
+    }
+
+    @Test
+    void runImport_ShouldRejectOnlyTheFailingRow_WhenChunkCannotBeSaved() throws Exception {
+        // Kwota poza zakresem kolumny - parser ja przyjmuje, zapis porcji konczy sie bledem
+        String csv = "date,amount,description,category\n" +
+                "2025-01-10,-10.00,Lidl," + category.getName() + "\n" +
+                "2025-01-11,-1" + "0".repeat(40) + ",Za duzo," + category.getName() + "\n" +
+                "2025-01-12,2500.00,Wyplata," + category.getName() + "\n";
+        Path file = Files.createTempFile("statement-import-test-", ".csv");
+        Files.writeString(file, csv);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user.getId(), StatementFormat.CSV, "test.csv", 10);
+
+        importService.runImport(job, file, StandardCharsets.UTF_8, null);
+
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(job.getImportedCount()).isEqualTo(2);
+        assertThat(job.getErrorCount()).isEqualTo(1);
+        assertThat(job.getErrors()).extracting(ImportJob.LineError::getLine).containsExactly(3L);
+        assertThat(transactionRepository.findByUserId(user.getId()))
+                .extracting(Transaction::getDescription)
+                .containsExactlyInAnyOrder("Lidl", "Wyplata");
+        assertThat(Files.exists(file)).isFalse();
+    }
+}
\ No newline at end of file
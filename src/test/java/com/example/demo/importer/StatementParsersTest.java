@@ -0,0 +1,100 @@
+package com.example.demo.importer;
+
+import com.example.demo.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementParsersTest {
+
+    private List<Object> readAll(StatementParser parser) throws IOException {
+        List<Object> results = new ArrayList<>();
+        while (true) {
+            try {
+                StatementRecord record = parser.next();
+                if (record == null) {
+                    return results;
+                }
+                results.add(record);
+            } catch (StatementParseException e) {
+                results.add(e);
+            }
+        }
+    }
+
+    @Test
+    void csv_ShouldParseQuotedFieldsAndContinueAfterBadLine() throws IOException {
+        String csv = "Data;Kwota;Opis;Kategoria\n" +
+                "15.01.2025;-1 234,50;\"Zakupy; duze\";Groceries\n" +
+                "nie-data;10,00;Zle;\n" +
+                "2025-01-20;5000,00;Wyplata;Salary\n";
+
+        List<Object> results = readAll(StatementFormat.CSV.newParser(new StringReader(csv)));
+
+        assertThat(results).hasSize(3);
+        StatementRecord first = (StatementRecord) results.get(0);
+        assertThat(first.getDate()).isEqualTo(LocalDateTime.of(2025, 1, 15, 0, 0));
+        assertThat(first.getAmount()).isEqualByComparingTo(new BigDecimal("1234.50"));
+        assertThat(first.getType()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(first.getDescription()).isEqualTo("Zakupy; duze");
+        assertThat(first.getCategory()).isEqualTo("Groceries");
+
+        assertThat(((StatementParseException) results.get(1)).getLineNumber()).isEqualTo(3);
+
+        StatementRecord third = (StatementRecord) results.get(2);
+        assertThat(third.getType()).isEqualTo(TransactionType.INCOME);
+        assertThat(third.getLineNumber()).isEqualTo(4);
+    }
+
+    @Test
+    void csv_ShouldRejectHeaderWithoutRequiredColumns() {
+        StatementParser parser = StatementFormat.CSV.newParser(new StringReader("foo,bar\n1,2\n"));
+
+        assertThatThrownBy(parser::next).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofx_ShouldParseSgmlTransactions() throws IOException {
+        String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+                "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20250115120000.000[-5:EST]\n<TRNAMT>-12.50\n" +
+                "<FITID>1\n<NAME>Coffee &amp; Co\n<MEMO>Card\n</STMTTRN>\n" +
+                "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20250116\n<TRNAMT>100.00\n<NAME>Refund\n</STMTTRN>\n" +
+                "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+        List<Object> results = readAll(StatementFormat.OFX.newParser(new StringReader(ofx)));
+
+        assertThat(results).hasSize(2);
+        StatementRecord first = (StatementRecord) results.get(0);
+        assertThat(first.getDate()).isEqualTo(LocalDateTime.of(2025, 1, 15, 12, 0));
+        assertThat(first.getAmount()).isEqualByComparingTo(new BigDecimal("12.50"));
+        assertThat(first.getType()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(first.getDescription()).isEqualTo("Coffee & Co - Card");
+        assertThat(((StatementRecord) results.get(1)).getType()).isEqualTo(TransactionType.INCOME);
+    }
+
+    @Test
+    void qif_ShouldParseRecordsAndCategories() throws IOException {
+        String qif = "!Type:Bank\n" +
+                "D1/15'25\nT-45.00\nPShell\nLTransport:Fuel\n^\n" +
+                "D01/20/2025\nT2,500.00\nPEmployer\nLSalary\n^\n";
+
+        List<Object> results = readAll(StatementFormat.QIF.newParser(new StringReader(qif)));
+
+        assertThat(results).hasSize(2);
+        StatementRecord first = (StatementRecord) results.get(0);
+        assertThat(first.getDate()).isEqualTo(LocalDateTime.of(2025, 1, 15, 0, 0));
+        assertThat(first.getCategory()).isEqualTo("Transport");
+        assertThat(first.getAmount()).isEqualByComparingTo(new BigDecimal("45.00"));
+        StatementRecord second = (StatementRecord) results.get(1);
+        assertThat(second.getAmount()).isEqualByComparingTo(new BigDecimal("2500.00"));
+        assertThat(second.getType()).isEqualTo(TransactionType.INCOME);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.demo.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void toMinor_ShouldConvertExactly() {
+        assertThat(Money.toMinor(new BigDecimal("123.45"))).isEqualTo(12345L);
+        assertThat(Money.toMinor(new BigDecimal("-0.01"))).isEqualTo(-1L);
+        assertThat(Money.toMinor(new BigDecimal("7"))).isEqualTo(700L);
+        assertThat(Money.toMinor(new BigDecimal("1.500"))).isEqualTo(150L);
+        assertThat(Money.toMinor(null)).isZero();
+    }
+
+    @Test
+    void toMinor_ShouldRejectFractionOfMinorUnit() {
+        assertThatThrownBy(() -> Money.toMinor(new BigDecimal("0.005")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toMinor_ShouldRejectAmountOutsideLongRange() {
+        assertThatThrownBy(() -> Money.toMinor(new BigDecimal("1e18")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toAmount_ShouldRoundTrip() {
+        BigDecimal amount = new BigDecimal("-98765.43");
+
+        assertThat(Money.toAmount(Money.toMinor(amount))).isEqualTo(amount);
+        assertThat(Money.toAmount(5L)).isEqualTo(new BigDecimal("0.05"));
+    }
+
+    @Test
+    void addAndSubtract_ShouldFailOnOverflow() {
+        assertThatThrownBy(() -> Money.add(Long.MAX_VALUE, 1L)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.subtract(Long.MIN_VALUE, 1L)).isInstanceOf(ArithmeticException.class);
+    }
+}
\ No newline at end of file
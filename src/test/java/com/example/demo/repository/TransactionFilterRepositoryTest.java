@@ -0,0 +1,229 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TransactionCursor;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.dto.TransactionFilter;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.service.CategoryService;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.demo.repository.TransactionFilterRepositoryTest$RecordingStatementInspector")
+@Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+class TransactionFilterRepositoryTest {
+
+    // initData z DemoApplication potrzebuje serwisu, ktorego @DataJpaTest nie tworzy
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User user;
+    private Budget budget;
+    private Category food;
+    private Category fuel;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("filter");
+        user.setPassword("password");
+        user.setEmail("filter@example.com");
+        entityManager.persist(user);
+
+        budget = new Budget();
+        budget.setUser(user);
+        budget.setName("Monthly");
+        budget.setLimit(new BigDecimal("2000.00"));
+        budget.setStartDate(LocalDate.of(2025, 1, 1));
+        budget.setEndDate(LocalDate.of(2025, 12, 31));
+        entityManager.persist(budget);
+
+        food = entityManager.persist(new Category("Food", user, false));
+        fuel = entityManager.persist(new Category("Fuel", user, false));
+
+        persist("Lidl", "45.00", TransactionType.EXPENSE, food, budget, LocalDateTime.of(2025, 1, 5, 10, 0));
+        persist("Orlen", "250.00", TransactionType.EXPENSE, fuel, budget, LocalDateTime.of(2025, 1, 20, 10, 0));
+        persist("Salary", "8000.00", TransactionType.INCOME, food, null, LocalDateTime.of(2025, 1, 31, 10, 0));
+        persist("Biedronka", "120.00", TransactionType.EXPENSE, food, null, LocalDateTime.of(2025, 2, 3, 10, 0));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persist(String description, String amount, TransactionType type, Category category,
+                         Budget budget, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setBudget(budget);
+        transaction.setDescription(description);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(type);
+        transaction.setDate(date);
+        entityManager.persist(transaction);
+    }
+
+    private List<String> descriptions(TransactionFilter filter) {
+        return transactionRepository.findFiltered(TransactionSpecifications.matching(user.getId(), filter), null, 100)
+                .stream()
+                .map(TransactionDTO::getDescription)
+                .toList();
+    }
+
+    @Test
+    void findFiltered_ShouldComposeEveryCriterion() {
+        TransactionFilter january = new TransactionFilter();
+        january.setFrom(LocalDate.of(2025, 1, 1));
+        january.setTo(LocalDate.of(2025, 1, 31));
+        assertThat(descriptions(january)).containsExactly("Salary", "Orlen", "Lidl");
+
+        january.setType(TransactionType.EXPENSE);
+        january.setBudgetId(budget.getId());
+        assertThat(descriptions(january)).containsExactly("Orlen", "Lidl");
+
+        TransactionFilter foodInRange = new TransactionFilter();
+        foodInRange.setCategoryIds(Set.of(food.getId()));
+        foodInRange.setMinAmount(new BigDecimal("50.00"));
+        foodInRange.setMaxAmount(new BigDecimal("1000.00"));
+        assertThat(descriptions(foodInRange)).containsExactly("Biedronka");
+
+        assertThat(descriptions(new TransactionFilter())).hasSize(4);
+    }
+
+    @Test
+    void findFiltered_ShouldReturnDtoWithReferences_AndContinueFromCursor() {
+        List<TransactionDTO> first = transactionRepository.findFiltered(
+                TransactionSpecifications.matching(user.getId(), new TransactionFilter()), null, 2);
+        assertThat(first).extracting(TransactionDTO::getDescription).containsExactly("Biedronka", "Salary");
+        assertThat(first.get(0).getCategory().getName()).isEqualTo("Food");
+        assertThat(first.get(0).getBudget()).isNull();
+
+        TransactionDTO last = first.get(1);
+        List<TransactionDTO> second = transactionRepository.findFiltered(
+                TransactionSpecifications.matching(user.getId(), new TransactionFilter()),
+                new TransactionCursor(last.getDate(), last.getId()), 2);
+        assertThat(second).extracting(TransactionDTO::getDescription).containsExactly("Orlen", "Lidl");
+        assertThat(second.get(0).getBudget().getName()).isEqualTo("Monthly");
+    }
+
+    // Plan dla SQL-a, ktory Hibernate faktycznie wygenerowal z Criteria (z JOIN-ami, @SQLRestriction i limitem).
+    // H2 wybiera indeks przy przygotowaniu zapytania, wiec parametry wiazemy jako NULL
+    private String explainFiltered(TransactionFilter filter) {
+        RecordingStatementInspector.clear();
+        descriptions(filter);
+        String sql = RecordingStatementInspector.lastSelectFrom("transaction");
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    // Komentarz planu przy tabeli transaction, np. "PUBLIC.IDX_TRANSACTION_USER_DATE_ID: USER_ID = ?1"
+    private static String transactionAccess(String plan) {
+        int table = plan.toUpperCase(Locale.ROOT).indexOf("\"PUBLIC\".\"TRANSACTION\"");
+        assertThat(table).as("transaction table in plan:%n%s", plan).isNotNegative();
+        int start = plan.indexOf("/*", table);
+        return plan.substring(start, plan.indexOf("*/", start));
+    }
+
+    @Test
+    void commonFilters_ShouldUseIndexesInsteadOfFullScan() {
+        TransactionFilter dateRange = new TransactionFilter();
+        dateRange.setFrom(LocalDate.of(2025, 1, 1));
+        dateRange.setTo(LocalDate.of(2025, 1, 31));
+
+        TransactionFilter budgetAndType = new TransactionFilter();
+        budgetAndType.setBudgetId(budget.getId());
+        budgetAndType.setType(TransactionType.EXPENSE);
+
+        TransactionFilter typeAndAmount = new TransactionFilter();
+        typeAndAmount.setType(TransactionType.EXPENSE);
+        typeAndAmount.setMinAmount(new BigDecimal("10.00"));
+        typeAndAmount.setMaxAmount(new BigDecimal("500.00"));
+
+        TransactionFilter categories = new TransactionFilter();
+        categories.setCategoryIds(Set.of(food.getId(), fuel.getId()));
+
+        String dateRangeAccess = transactionAccess(explainFiltered(dateRange));
+        assertThat(dateRangeAccess).containsIgnoringCase("idx_transaction_user_date_id");
+
+        String budgetAndTypeAccess = transactionAccess(explainFiltered(budgetAndType));
+        assertThat(budgetAndTypeAccess).containsIgnoringCase("idx_transaction_budget_");
+
+        // Bez zakresu dat kazdy indeks zaczynajacy sie od user_id jest rownie dobry (H2 bierze indeks klucza obcego)
+        String typeAndAmountAccess = transactionAccess(explainFiltered(typeAndAmount));
+        assertThat(typeAndAmountAccess).containsIgnoringCase("USER_ID = ");
+
+        // Lista kategorii zaweza bardziej niz user_id - wyszukanie po indeksie klucza obcego category_id
+        String categoriesAccess = transactionAccess(explainFiltered(categories));
+        assertThat(categoriesAccess).containsIgnoringCase("CATEGORY_ID IN(");
+
+        for (String access : List.of(dateRangeAccess, budgetAndTypeAccess, typeAndAmountAccess, categoriesAccess)) {
+            assertThat(access).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    /**
+     * Zapamietuje SQL przekazywany przez Hibernate do JDBC.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            statements.clear();
+        }
+
+        static String lastSelectFrom(String table) {
+            for (int i = statements.size() - 1; i >= 0; i--) {
+                String sql = statements.get(i).toLowerCase(Locale.ROOT);
+                if (sql.startsWith("select") && sql.contains(" from " + table + " ")) {
+                    return statements.get(i);
+                }
+            }
+            throw new AssertionError("No SELECT from " + table + " was executed: " + statements);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
\ No newline at end of file
@@ -1,14 +1,19 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.TransactionDTO;
 import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
 import com.example.demo.model.Transaction;
 import com.example.demo.model.TransactionType;
 import com.example.demo.model.User;
+import com.example.demo.service.CategoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.math.BigDecimal;
@@ -22,6 +27,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Sql(scripts = "/schema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 class TransactionRepositoryTest {
 
+    // initData z DemoApplication potrzebuje serwisu, ktorego @DataJpaTest nie tworzy
+    @MockitoBean
+    private CategoryService categoryService;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -30,6 +39,7 @@ class TransactionRepositoryTest {
 
     private User testUser;
     private Budget testBudget;
+    private Category testCategory;
 
     @BeforeEach
     void setUp() {
@@ -47,6 +57,9 @@ class TransactionRepositoryTest {
         testBudget.setEndDate(LocalDate.of(2025, 1, 31));
         entityManager.persist(testBudget);
 
+        testCategory = new Category("Food", null, true);
+        entityManager.persist(testCategory);
+
         entityManager.flush();
     }
 
@@ -121,10 +134,36 @@ class TransactionRepositoryTest {
         assertThat(transactions).isEmpty();
     }
 
+    @Test
+    void shouldPageTransactionsByUserIdWithKeysetCursor() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 10, 12, 0);
+        Transaction oldest = createTransaction(new BigDecimal("10.00"), "Oldest", TransactionType.EXPENSE);
+        oldest.setDate(base.minusDays(2));
+        Transaction sameDayFirst = createTransaction(new BigDecimal("20.00"), "Same day 1", TransactionType.EXPENSE);
+        sameDayFirst.setDate(base);
+        Transaction sameDaySecond = createTransaction(new BigDecimal("30.00"), "Same day 2", TransactionType.EXPENSE);
+        sameDaySecond.setDate(base);
+        for (Transaction t : List.of(oldest, sameDayFirst, sameDaySecond)) {
+            entityManager.persist(t);
+        }
+        entityManager.flush();
+
+        List<TransactionDTO> firstPage = transactionRepository.findFirstPageByUserId(testUser.getId(), PageRequest.of(0, 2));
+        assertThat(firstPage).extracting(TransactionDTO::getDescription)
+                .containsExactly("Same day 2", "Same day 1");
+
+        TransactionDTO last = firstPage.get(1);
+        List<TransactionDTO> secondPage = transactionRepository.findPageByUserIdBefore(
+                testUser.getId(), last.getDate(), last.getId(), PageRequest.of(0, 2));
+        assertThat(secondPage).extracting(TransactionDTO::getDescription)
+                .containsExactly("Oldest");
+    }
+
     private Transaction createTransaction(BigDecimal amount, String description, TransactionType type) {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setBudget(testBudget);
+        transaction.setCategory(testCategory);
         transaction.setAmount(amount);
         transaction.setDescription(description);
         transaction.setType(type);
@@ -0,0 +1,112 @@
+package com.example.demo.search;
+
+import com.example.demo.event.TransactionChangedEvent;
+import com.example.demo.model.Transaction;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.projection.TransactionSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TransactionSearchIndexTest {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private TransactionRepository transactionRepository;
+    private TransactionSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        searchIndex = new TransactionSearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(searchIndex, "maxDocuments", 1_000_000L);
+        ReflectionTestUtils.setField(searchIndex, "idleMinutes", 30L);
+        searchIndex.init();
+    }
+
+    private static TransactionSearchDocument document(long id, String description, int day) {
+        return new TransactionSearchDocument() {
+            public Long getId() { return id; }
+            public String getDescription() { return description; }
+            public LocalDateTime getDate() { return BASE_DATE.plusDays(day); }
+        };
+    }
+
+    private static Transaction transaction(long id, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setDescription(description);
+        transaction.setDate(BASE_DATE);
+        return transaction;
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseAndStripPolishCharacters() {
+        assertThat(UserSearchIndex.tokenize("Żabka Łódź, kawa! kawa"))
+                .containsExactly("zabka", "lodz", "kawa");
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesOfAllTerms_AndRankExactWordsFirst() {
+        when(transactionRepository.findSearchDocumentsByUserId(1L)).thenReturn(List.of(
+                document(1, "Biedronka zakupy", 1),
+                document(2, "Biedronkami market", 2),
+                document(3, "Lidl zakupy", 3),
+                document(4, "Biedronka paliwo", 4)
+        ));
+
+        assertThat(searchIndex.search(1L, "biedronka", 10)).containsExactly(4L, 1L, 2L);
+        assertThat(searchIndex.search(1L, "bied zak", 10)).containsExactly(1L);
+        assertThat(searchIndex.search(1L, "ZAKUPY", 1)).containsExactly(3L);
+        assertThat(searchIndex.search(1L, "apteka", 10)).isEmpty();
+        verify(transactionRepository, times(1)).findSearchDocumentsByUserId(1L);
+    }
+
+    @Test
+    void onTransactionChanged_ShouldUpdateLoadedIndex_AndRebuildAfterBulkChange() {
+        when(transactionRepository.findSearchDocumentsByUserId(1L)).thenReturn(List.of(document(1, "Czynsz", 1)));
+        assertThat(searchIndex.search(1L, "czynsz", 10)).containsExactly(1L);
+
+        searchIndex.onTransactionChanged(TransactionChangedEvent.saved(transaction(2, "Czynsz luty"), 1L));
+        searchIndex.onTransactionChanged(TransactionChangedEvent.saved(transaction(1, "Prad"), 1L));
+        assertThat(searchIndex.search(1L, "czynsz", 10)).containsExactly(2L);
+        assertThat(searchIndex.search(1L, "prad", 10)).containsExactly(1L);
+
+        searchIndex.onTransactionChanged(TransactionChangedEvent.deleted(2L, 1L));
+        assertThat(searchIndex.search(1L, "czynsz", 10)).isEmpty();
+
+        searchIndex.onTransactionChanged(TransactionChangedEvent.bulk(1L));
+        assertThat(searchIndex.search(1L, "czynsz", 10)).containsExactly(1L);
+        verify(transactionRepository, times(2)).findSearchDocumentsByUserId(1L);
+    }
+
+    @Test
+    void search_ShouldAnswerWithin20ms_For100kTransactions() {
+        String[] merchants = {"Biedronka", "Lidl", "Orlen", "Rossmann", "Zabka", "Allegro", "Netflix", "Apteka"};
+        String[] words = {"zakupy", "paliwo", "kosmetyki", "prezent", "abonament", "leki", "obiad", "bilet"};
+        List<TransactionSearchDocument> documents = new ArrayList<>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            String description = merchants[i % merchants.length] + " " + words[(i / 8) % words.length] + " nr " + i;
+            documents.add(document(i, description, i % 365));
+        }
+        when(transactionRepository.findSearchDocumentsByUserId(1L)).thenReturn(documents);
+        searchIndex.search(1L, "warmup", 20);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            List<Long> results = searchIndex.search(1L, "bied zak", 20);
+            best = Math.min(best, System.nanoTime() - start);
+            assertThat(results).hasSize(20);
+        }
+        assertThat(best).isLessThan(20_000_000L);
+    }
+}
\ No newline at end of file
@@ -16,6 +16,9 @@ class JwtUtilTest {
         ReflectionTestUtils.setField(jwtUtil, "secretKey",
             "thisIsAVeryLongSecretKeyForJwtTokenGenerationAndValidationInTestEnvironmentWithMoreThan256Bits");
         ReflectionTestUtils.setField(jwtUtil, "expirationTime", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpirationTime", 7200000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 100L);
+        jwtUtil.init();
     }
 
     @Test
@@ -61,4 +64,49 @@ class JwtUtilTest {
 
         assertThat(isValid).isFalse();
     }
+
+    @Test
+    void parseToken_ShouldReturnPrincipalWithAllClaims() {
+        String token = jwtUtil.generateToken("test@example.com", 42L);
+
+        JwtPrincipal principal = jwtUtil.parseToken(token);
+
+        assertThat(principal.getUserId()).isEqualTo(42L);
+        assertThat(principal.getEmail()).isEqualTo("test@example.com");
+        assertThat(principal.isExpired()).isFalse();
+    }
+
+    @Test
+    void parseToken_ShouldServeRepeatedTokenFromCache() {
+        String token = jwtUtil.generateToken("test@example.com", 1L);
+
+        JwtPrincipal first = jwtUtil.parseToken(token);
+        JwtPrincipal second = jwtUtil.parseToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.getVerifiedCacheMisses()).isEqualTo(1L);
+        assertThat(jwtUtil.getVerifiedCacheHits()).isEqualTo(1L);
+    }
+
+    @Test
+    void parseToken_ShouldNotCacheTamperedToken() {
+        String token = jwtUtil.generateToken("test@example.com", 1L);
+        jwtUtil.parseToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThat(jwtUtil.isTokenValid(tampered)).isFalse();
+        assertThat(jwtUtil.getVerifiedCacheHits()).isZero();
+    }
+
+    @Test
+    void generateRefreshToken_ShouldCarryRefreshTypeAndUniqueId() {
+        JwtPrincipal access = jwtUtil.parseToken(jwtUtil.generateToken("test@example.com", 1L));
+        JwtPrincipal refresh = jwtUtil.parseToken(jwtUtil.generateRefreshToken("test@example.com", 1L));
+
+        assertThat(access.isAccessToken()).isTrue();
+        assertThat(refresh.isRefreshToken()).isTrue();
+        assertThat(refresh.isAccessToken()).isFalse();
+        assertThat(refresh.getTokenId()).isNotEqualTo(access.getTokenId());
+    }
 }
\ No newline at end of file
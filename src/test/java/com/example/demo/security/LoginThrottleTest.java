@@ -0,0 +1,72 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.LoginThrottledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle();
+        ReflectionTestUtils.setField(loginThrottle, "emailCapacity", 3L);
+        ReflectionTestUtils.setField(loginThrottle, "emailRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(loginThrottle, "ipCapacity", 5L);
+        ReflectionTestUtils.setField(loginThrottle, "ipRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(loginThrottle, "maxKeys", 1000);
+        loginThrottle.init();
+    }
+
+    @Test
+    void checkLoginAllowed_ShouldThrottleEmail_AfterCapacityIsUsed() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.checkLoginAllowed("test@example.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkLoginAllowed("TEST@example.com ", "10.0.0.9"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThat(loginThrottle.getAllowedAttempts()).isEqualTo(3L);
+        assertThat(loginThrottle.getThrottledAttempts()).isEqualTo(1L);
+    }
+
+    @Test
+    void checkLoginAllowed_ShouldThrottleIp_AcrossDifferentEmails() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.checkLoginAllowed("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.checkLoginAllowed("other@example.com", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> loginThrottle.checkLoginAllowed("other@example.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkLoginAllowed_ShouldTrackBucketsForEmailAndIp() {
+        loginThrottle.checkLoginAllowed("test@example.com", "10.0.0.1");
+
+        assertThat(loginThrottle.getTrackedKeys()).isEqualTo(2);
+    }
+
+    @Test
+    void checkLoginAllowed_ShouldAcceptNewKeys_WhenKeyLimitIsReached() {
+        ReflectionTestUtils.setField(loginThrottle, "maxKeys", 10);
+        ReflectionTestUtils.setField(loginThrottle, "ipCapacity", 1000L);
+        loginThrottle.init();
+
+        for (int i = 0; i < 100; i++) {
+            loginThrottle.checkLoginAllowed("flood" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatCode(() -> loginThrottle.checkLoginAllowed("victim@example.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+        assertThat(loginThrottle.getTrackedKeys()).isLessThanOrEqualTo(20);
+    }
+}
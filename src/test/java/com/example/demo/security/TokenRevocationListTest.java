@@ -0,0 +1,124 @@
+package com.example.demo.security;
+
+import com.example.demo.model.RevokedToken;
+import com.example.demo.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenRevocationList tokenRevocationList;
+
+    private final Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationList, "expectedEntries", 100);
+    }
+
+    @Test
+    void load_ShouldRestoreRevokedTokensFromTable() {
+        when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(new RevokedToken("jti-1", 1L, expiresAt)));
+
+        tokenRevocationList.load();
+
+        assertThat(tokenRevocationList.isRevoked("jti-1")).isTrue();
+        assertThat(tokenRevocationList.isRevoked("jti-2")).isFalse();
+    }
+
+    @Test
+    void revoke_ShouldSucceedOnlyOnce_ForTheSameToken() {
+        tokenRevocationList.load();
+
+        assertThat(tokenRevocationList.revoke("jti-1", 1L, expiresAt)).isTrue();
+        assertThat(tokenRevocationList.revoke("jti-1", 1L, expiresAt)).isFalse();
+
+        assertThat(tokenRevocationList.isRevoked("jti-1")).isTrue();
+        verify(revokedTokenRepository, times(1)).insert("jti-1", 1L, expiresAt);
+    }
+
+    @Test
+    void revoke_ShouldReturnFalse_WhenAnotherInstanceRevokedFirst() {
+        tokenRevocationList.load();
+        when(revokedTokenRepository.insert(eq("jti-1"), anyLong(), any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThat(tokenRevocationList.revoke("jti-1", 1L, expiresAt)).isFalse();
+        assertThat(tokenRevocationList.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void revoke_ShouldIgnoreExpiredTokens() {
+        tokenRevocationList.load();
+
+        assertThat(tokenRevocationList.revoke("jti-1", 1L, Instant.now().minusSeconds(1))).isFalse();
+        verify(revokedTokenRepository, never()).insert(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void revoke_ShouldHaveExactlyOneWinner_UnderConcurrency() throws Exception {
+        tokenRevocationList.load();
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Boolean> attempt = () -> {
+                    start.await();
+                    return tokenRevocationList.revoke("jti-race", 1L, expiresAt);
+                };
+                results.add(executor.submit(attempt));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void purgeExpired_ShouldDropExpiredEntries() {
+        tokenRevocationList.load();
+        tokenRevocationList.revoke("jti-1", 1L, expiresAt);
+
+        tokenRevocationList.purgeExpired();
+
+        assertThat(tokenRevocationList.size()).isEqualTo(1);
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.BudgetUsageReport;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.support.BudgetFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Raport wykorzystania budzetow na prawdziwej bazie - statusy i liczba zapytan (BudgetAnalyticsServiceTest uzywa mockow).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, BudgetFixtures.class})
+class BudgetAnalyticsServiceIntegrationTest {
+
+    @Autowired
+    private BudgetAnalyticsService budgetAnalyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetFixtures fixtures;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.createUser("usage");
+        category = fixtures.createCategory(user, "Usage");
+    }
+
+    @Test
+    void getUsageReports_ShouldCoverAllBudgetsInOneQuery() {
+        Budget onTrack = fixtures.createBudget(user, "On track");
+        Budget near = fixtures.createBudget(user, "Near");
+        Budget full = fixtures.createBudget(user, "Full");
+        Budget over = fixtures.createBudget(user, "Over");
+        fixtures.createBudget(user, "Empty");
+        transactionService.createTransaction(fixtures.transaction(category, onTrack, "100.00", TransactionType.EXPENSE), user.getId());
+        transactionService.createTransaction(fixtures.transaction(category, onTrack, "5000.00", TransactionType.INCOME), user.getId());
+        transactionService.createTransaction(fixtures.transaction(category, near, "850.00", TransactionType.EXPENSE), user.getId());
+        transactionService.createTransaction(fixtures.transaction(category, full, "1000.00", TransactionType.EXPENSE), user.getId());
+        transactionService.createTransaction(fixtures.transaction(category, over, "1000.01", TransactionType.EXPENSE), user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BudgetUsageReport> reports = budgetAnalyticsService.getUsageReports(user.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(reports).hasSize(5);
+        Map<String, BudgetUsageReport> byName = reports.stream()
+                .collect(Collectors.toMap(BudgetUsageReport::getBudgetName, Function.identity()));
+        assertThat(byName.get("On track").getSpent()).isEqualByComparingTo("100.00");
+        assertThat(byName.get("On track").getRemaining()).isEqualByComparingTo("900.00");
+        assertThat(byName.get("On track").getPercentageUsed()).isEqualTo(10.0);
+        assertThat(byName.get("On track").getStatus()).isEqualTo(BudgetUsageReport.STATUS_ON_TRACK);
+        assertThat(byName.get("Near").getStatus()).isEqualTo(BudgetUsageReport.STATUS_NEAR_LIMIT);
+        // Dokladnie wykorzystany limit to jeszcze nie przekroczenie
+        assertThat(byName.get("Full").getStatus()).isEqualTo(BudgetUsageReport.STATUS_NEAR_LIMIT);
+        // Grosz ponad limit: procent zaokragla sie do 100.00, status i tak OVER_LIMIT
+        assertThat(byName.get("Over").getPercentageUsed()).isEqualTo(100.0);
+        assertThat(byName.get("Over").getRemaining()).isEqualByComparingTo("-0.01");
+        assertThat(byName.get("Over").getStatus()).isEqualTo(BudgetUsageReport.STATUS_OVER_LIMIT);
+        assertThat(byName.get("Empty").getSpent()).isEqualByComparingTo("0.00");
+        assertThat(byName.get("Empty").getPercentageUsed()).isEqualTo(0.0);
+    }
+
+    @Test
+    void getUsageReports_ShouldHandleLimitBeyondLongMinorUnits() {
+        // Najwiekszy limit mieszczacy sie w kolumnie (19, 2) - w groszach wychodzi poza zakres long
+        fixtures.createBudget(user, "Huge", "99999999999999999.99");
+
+        List<BudgetUsageReport> reports = budgetAnalyticsService.getUsageReports(user.getId());
+
+        assertThat(reports).hasSize(1);
+        assertThat(reports.get(0).getStatus()).isEqualTo(BudgetUsageReport.STATUS_ON_TRACK);
+    }
+}
\ No newline at end of file
@@ -3,12 +3,15 @@ package com.example.demo.service;
 import com.example.demo.validation.BudgetValidator;
 import com.example.demo.model.Budget;
 import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.RecurringTransactionRepository;
+import com.example.demo.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -32,6 +35,24 @@ class BudgetServiceTest {
     @Mock
     private BudgetValidator budgetValidator;
 
+    @Mock
+    private UserDataVersionService userDataVersionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ChangeSequenceService changeSequenceService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BudgetTotalsService budgetTotalsService;
+
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -158,25 +179,26 @@ class BudgetServiceTest {
     }
 
     @Test
-    void deleteBudget_ShouldDeleteExistingBudget() {
-        when(budgetRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(budgetRepository).deleteById(1L);
+    void deleteBudget_ShouldTombstoneBudget_AndStopItsRecurringDefinitions() {
+        when(changeSequenceService.next(1L)).thenReturn(7L);
+        when(budgetRepository.markDeleted(1L, 1L, 7L)).thenReturn(1);
 
-        budgetService.deleteBudget(1L);
+        budgetService.deleteBudget(1L, 1L);
 
-        verify(budgetRepository, times(1)).existsById(1L);
-        verify(budgetRepository, times(1)).deleteById(1L);
+        verify(transactionRepository).markDeletedByBudgetId(1L, 7L);
+        verify(recurringTransactionRepository).deactivateByBudgetId(1L);
+        verify(budgetTotalsService).deleteFor(1L);
     }
 
     @Test
-    void deleteBudget_ShouldThrowException_WhenNotFound() {
-        when(budgetRepository.existsById(999L)).thenReturn(false);
+    void deleteBudget_ShouldThrowException_WhenNotOwnedOrMissing() {
+        when(changeSequenceService.next(1L)).thenReturn(7L);
+        when(budgetRepository.markDeleted(999L, 1L, 7L)).thenReturn(0);
 
-        assertThatThrownBy(() -> budgetService.deleteBudget(999L))
+        assertThatThrownBy(() -> budgetService.deleteBudget(999L, 1L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Budget not found with id: 999");
 
-        verify(budgetRepository, times(1)).existsById(999L);
-        verify(budgetRepository, never()).deleteById(999L);
+        verifyNoInteractions(recurringTransactionRepository, budgetTotalsService);
     }
 }
\ No newline at end of file
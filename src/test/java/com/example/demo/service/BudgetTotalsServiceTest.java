@@ -0,0 +1,187 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.BudgetTotals;
+import com.example.demo.model.Category;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.repository.BudgetTotalsRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.projection.BudgetAmounts;
+import com.example.demo.support.BudgetFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, BudgetFixtures.class})
+class BudgetTotalsServiceTest {
+
+    @Autowired
+    private BudgetTotalsService budgetTotalsService;
+
+    @Autowired
+    private BudgetAnalyticsService budgetAnalyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetTotalsRepository budgetTotalsRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetFixtures fixtures;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.createUser("totals");
+        category = fixtures.createCategory(user, "Totals");
+    }
+
+    private BudgetTotals totals(Budget budget) {
+        return budgetTotalsRepository.findById(budget.getId()).orElseThrow();
+    }
+
+    @Test
+    void totals_ShouldFollowCreateUpdateAndDelete() {
+        Budget budget = fixtures.createBudget(user, "Main");
+        transactionService.createTransaction(fixtures.transaction(category, budget, "1000.00", TransactionType.INCOME), user.getId());
+        TransactionDTO rent = transactionService.createTransaction(fixtures.transaction(category, budget, "400.50", TransactionType.EXPENSE), user.getId());
+        TransactionDTO food = transactionService.createTransaction(fixtures.transaction(category, budget, "99.99", TransactionType.EXPENSE), user.getId());
+
+        transactionService.updateTransaction(rent.getId(), fixtures.transaction(category, budget, "450.00", TransactionType.EXPENSE), user.getId());
+        transactionService.deleteTransaction(food.getId(), user.getId());
+
+        BudgetTotals totals = totals(budget);
+        assertThat(totals.getIncomeMinor()).isEqualTo(100000L);
+        assertThat(totals.getExpenseMinor()).isEqualTo(45000L);
+        assertThat(totals.getTransactionCount()).isEqualTo(2L);
+        assertThat(budgetAnalyticsService.calculateBalance(budget.getId(), user.getId())).contains(new BigDecimal("550.00"));
+    }
+
+    @Test
+    void updateTransaction_ShouldMoveAmountBetweenBudgets() {
+        Budget first = fixtures.createBudget(user, "First");
+        Budget second = fixtures.createBudget(user, "Second");
+        TransactionDTO created = transactionService.createTransaction(fixtures.transaction(category, first, "25.00", TransactionType.EXPENSE), user.getId());
+
+        transactionService.updateTransaction(created.getId(), fixtures.transaction(category, second, "30.00", TransactionType.INCOME), user.getId());
+
+        assertThat(totals(first).getExpenseMinor()).isZero();
+        assertThat(totals(first).getTransactionCount()).isZero();
+        assertThat(totals(second).getIncomeMinor()).isEqualTo(3000L);
+        assertThat(totals(second).getTransactionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void reconcile_ShouldRepairDriftedRow() {
+        Budget budget = fixtures.createBudget(user, "Drift");
+        transactionService.createTransaction(fixtures.transaction(category, budget, "12.34", TransactionType.EXPENSE), user.getId());
+        budgetTotalsRepository.save(new BudgetTotals(budget.getId(), 1L, 2L, 3L));
+
+        assertThat(budgetTotalsService.reconcile()).isGreaterThanOrEqualTo(1);
+
+        BudgetTotals totals = totals(budget);
+        assertThat(totals.getIncomeMinor()).isZero();
+        assertThat(totals.getExpenseMinor()).isEqualTo(1234L);
+        assertThat(totals.getTransactionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void reconcile_ShouldKeepWriteThatLandsBetweenSumAndRowInsert() throws Exception {
+        Budget budget = fixtures.createBudget(user, "Missing row");
+        transactionService.createTransaction(fixtures.transaction(category, budget, "10.00", TransactionType.EXPENSE), user.getId());
+        // Budzet sprzed budget_totals - wiersz zalozy dopiero uzgadnianie
+        budgetTotalsRepository.deleteById(budget.getId());
+
+        // Zaraz po SUM w naprawie inny watek zapisuje transakcje do tego budzetu
+        BudgetTotalsService target = AopTestUtils.getTargetObject(budgetTotalsService);
+        TransactionRepository racing = mock(TransactionRepository.class, AdditionalAnswers.delegatesTo(transactionRepository));
+        AtomicReference<Thread> writer = new AtomicReference<>();
+        AtomicReference<Throwable> writerError = new AtomicReference<>();
+        doAnswer(invocation -> {
+            List<Long> budgetIds = invocation.getArgument(0);
+            List<BudgetAmounts> sums = transactionRepository.sumByBudgetIds(budgetIds);
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && budgetIds.equals(List.of(budget.getId())) && writer.get() == null) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        transactionService.createTransaction(fixtures.transaction(category, budget, "5.00", TransactionType.EXPENSE), user.getId());
+                    } catch (Throwable e) {
+                        writerError.set(e);
+                    }
+                });
+                writer.set(thread);
+                thread.start();
+                // Zapis konczy sie od razu (brak blokady) albo czeka na koniec naprawy
+                thread.join(300);
+            }
+            return sums;
+        }).when(racing).sumByBudgetIds(anyList());
+
+        ReflectionTestUtils.setField(target, "transactionRepository", racing);
+        try {
+            budgetTotalsService.reconcile();
+        } finally {
+            ReflectionTestUtils.setField(target, "transactionRepository", transactionRepository);
+        }
+        assertThat(writer.get()).isNotNull();
+        writer.get().join(5000);
+        assertThat(writerError.get()).isNull();
+
+        BudgetTotals totals = totals(budget);
+        assertThat(totals.getExpenseMinor()).isEqualTo(1500L);
+        assertThat(totals.getTransactionCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void calculateBalance_ShouldBeOneQuery_RegardlessOfTransactionCount() {
+        Budget budget = fixtures.createBudget(user, "Busy");
+        for (int i = 0; i < 50; i++) {
+            transactionService.createTransaction(fixtures.transaction(category, budget, "1.00", TransactionType.EXPENSE), user.getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(budgetAnalyticsService.calculateBalance(budget.getId(), user.getId())).contains(new BigDecimal("-50.00"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateBalance_ShouldBeEmpty_ForOtherUsersBudget() {
+        Budget budget = fixtures.createBudget(user, "Private");
+
+        assertThat(budgetAnalyticsService.calculateBalance(budget.getId(), user.getId() + 1000)).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.IdempotencyKeyReusedException;
+import com.example.demo.model.IdempotencyRecord;
+import com.example.demo.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyService idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findByIdAndExpiresAtAfter(anyString(), any())).thenReturn(Optional.empty());
+        idempotencyService = newService(repository);
+    }
+
+    private IdempotencyService newService(IdempotencyRecordRepository repository) {
+        IdempotencyService service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "idempotencyRecordRepository", repository);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(service, "ttlHours", 24L);
+        ReflectionTestUtils.setField(service, "maxEntries", 1000L);
+        ReflectionTestUtils.setField(service, "waitTimeoutMillis", 5000L);
+        service.init();
+        return service;
+    }
+
+    private ResponseEntity<?> create(String key, Object request) {
+        return idempotencyService.execute(1L, key, "POST /api/budgets", request, () -> {
+            int id = executions.incrementAndGet();
+            return new ResponseEntity<>(Map.of("id", id), HttpStatus.CREATED);
+        });
+    }
+
+    @Test
+    void execute_ShouldReplayOriginalResponse_ForRepeatedKey() {
+        ResponseEntity<?> first = create("key-1", Map.of("name", "Food"));
+        ResponseEntity<?> second = create("key-1", Map.of("name", "Food"));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(((JsonNode) second.getBody()).get("id").asInt()).isEqualTo(1);
+        assertThat(second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        verify(repository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_ShouldRunEveryTime_WithoutKey() {
+        create(null, Map.of("name", "Food"));
+        create(null, Map.of("name", "Food"));
+
+        assertThat(executions.get()).isEqualTo(2);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void execute_ShouldRejectSameKey_ForDifferentPayload() {
+        create("key-1", Map.of("name", "Food"));
+
+        assertThatThrownBy(() -> create("key-1", Map.of("name", "Rent")))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldNotRememberErrorResponses() {
+        ResponseEntity<?> failed = idempotencyService.execute(1L, "key-1", "POST /api/budgets", List.of(),
+                () -> new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        ResponseEntity<?> retried = create("key-1", List.of());
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldReleaseKey_WhenResponseCannotBeSerialized() {
+        // Pusty obiekt bez getterow - Jackson odrzuca go dopiero po wykonaniu akcji
+        assertThatThrownBy(() -> idempotencyService.execute(1L, "key-1", "POST /api/budgets", List.of(), () -> {
+            executions.incrementAndGet();
+            return new ResponseEntity<>(new Object(), HttpStatus.CREATED);
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(idempotencyService.size()).isZero();
+        ResponseEntity<?> retried = create("key-1", List.of());
+
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retried.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_ShouldReplayFromTable_AfterRestart() {
+        ResponseEntity<?> first = create("key-1", Map.of("name", "Food"));
+        ArgumentCaptor<IdempotencyRecord> saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isEqualTo("1:key-1");
+        when(repository.findByIdAndExpiresAtAfter(eq("1:key-1"), any())).thenReturn(Optional.of(saved.getValue()));
+
+        // Nowa instancja = pusty cache w pamieci
+        idempotencyService = newService(repository);
+        ResponseEntity<?> replayed = create("key-1", Map.of("name", "Food"));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(((JsonNode) replayed.getBody()).get("id").asInt()).isEqualTo(1);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_ShouldCoalesceConcurrentDuplicates_IntoOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<ResponseEntity<?>> original = pool.submit(() ->
+                    idempotencyService.execute(1L, "key-1", "POST /api/transactions", "payload", () -> {
+                        started.countDown();
+                        await(release);
+                        executions.incrementAndGet();
+                        return new ResponseEntity<>(Map.of("id", 7), HttpStatus.CREATED);
+                    }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<ResponseEntity<?>>> duplicates = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                duplicates.add(pool.submit(() ->
+                        idempotencyService.execute(1L, "key-1", "POST /api/transactions", "payload", () -> {
+                            executions.incrementAndGet();
+                            return new ResponseEntity<>(HttpStatus.CREATED);
+                        })));
+            }
+            release.countDown();
+
+            assertThat(original.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            for (Future<ResponseEntity<?>> duplicate : duplicates) {
+                assertThat(((JsonNode) duplicate.get(5, TimeUnit.SECONDS).getBody()).get("id").asInt()).isEqualTo(7);
+            }
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
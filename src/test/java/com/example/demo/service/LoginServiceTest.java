@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.LoginThrottledException;
+import com.example.demo.model.LoginResponse;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.UserCredentials;
+import com.example.demo.security.LoginThrottle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private LoginService loginService;
+
+    private UserCredentials credentials(Long id, String email, String hash) {
+        UserCredentials credentials = mock(UserCredentials.class);
+        lenient().when(credentials.getId()).thenReturn(id);
+        lenient().when(credentials.getEmail()).thenReturn(email);
+        lenient().when(credentials.getPassword()).thenReturn(hash);
+        return credentials;
+    }
+
+    @Test
+    void login_ShouldIssueTokens_WithSingleCredentialsLookup() {
+        UserCredentials user = credentials(1L, "test@example.com", "hash");
+        LoginResponse expected = new LoginResponse("access", "refresh", "test@example.com", 1L);
+        when(userRepository.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+        when(tokenService.issueTokens("test@example.com", 1L)).thenReturn(expected);
+
+        LoginResponse response = loginService.login("test@example.com", "secret", "10.0.0.1");
+
+        assertSame(expected, response);
+        verify(userRepository, times(1)).findCredentialsByEmail("test@example.com");
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).updatePassword(any(), anyString());
+    }
+
+    @Test
+    void login_ShouldFail_WithWrongPassword() {
+        UserCredentials user = credentials(1L, "test@example.com", "hash");
+        when(userRepository.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class,
+                () -> loginService.login("test@example.com", "wrong", "10.0.0.1"));
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void login_ShouldFail_WhenUserNotFound_AfterComparingAgainstDummyHash() {
+        when(userRepository.findCredentialsByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class,
+                () -> loginService.login("missing@example.com", "secret", "10.0.0.1"));
+        // BCrypt wykonany tak jak dla istniejacego konta - bez roznicy w czasie odpowiedzi
+        verify(passwordEncoder, times(1)).matches(eq("secret"), any());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void login_ShouldRehashPassword_WhenEncodingIsOutdated() {
+        UserCredentials user = credentials(1L, "test@example.com", "oldHash");
+        when(userRepository.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "oldHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("newHash");
+
+        loginService.login("test@example.com", "secret", "10.0.0.1");
+
+        verify(userRepository).updatePassword(1L, "newHash");
+    }
+
+    @Test
+    void login_ShouldNotTouchDatabase_WhenThrottled() {
+        doThrow(new LoginThrottledException("Too many login attempts, try again later", 12))
+                .when(loginThrottle).checkLoginAllowed("test@example.com", "10.0.0.1");
+
+        assertThrows(LoginThrottledException.class,
+                () -> loginService.login("test@example.com", "secret", "10.0.0.1"));
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+}
\ No newline at end of file
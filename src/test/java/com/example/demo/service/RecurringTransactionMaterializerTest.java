@@ -0,0 +1,236 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.RecurrenceFrequency;
+import com.example.demo.model.RecurringTransaction;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.RecurringTransactionRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class RecurringTransactionMaterializerTest {
+
+    @Autowired
+    private RecurringTransactionMaterializer materializer;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        user = new User();
+        user.setUsername("recurring-" + suffix);
+        user.setEmail("recurring-" + suffix + "@example.com");
+        user.setPassword("hash");
+        user = userRepository.save(user);
+        category = categoryRepository.save(new Category("Home-" + suffix, user, false));
+    }
+
+    private RecurringTransaction define(String description, RecurrenceFrequency frequency, int interval,
+                                        LocalDate start, LocalDate end) {
+        return define(new RecurringTransaction(), description, frequency, interval, start, end);
+    }
+
+    private RecurringTransaction define(RecurringTransaction recurring, String description, RecurrenceFrequency frequency,
+                                        int interval, LocalDate start, LocalDate end) {
+        recurring.setUser(user);
+        recurring.setCategory(category);
+        recurring.setAmount(new BigDecimal("2500.00"));
+        recurring.setDescription(description);
+        recurring.setType(TransactionType.EXPENSE);
+        recurring.setFrequency(frequency);
+        recurring.setRepeatInterval(interval);
+        recurring.setStartDate(start);
+        recurring.setEndDate(end);
+        recurring.setNextOccurrence(start);
+        return recurringTransactionRepository.save(recurring);
+    }
+
+    private List<LocalDate> occurrences(RecurringTransaction recurring) {
+        return transactionRepository.findByUserId(user.getId()).stream()
+                .filter(transaction -> recurring.getId().equals(transaction.getRecurringId()))
+                .map(Transaction::getOccurrenceDate)
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void occurrence_ShouldBeAnchoredToStartDate() {
+        LocalDate start = LocalDate.of(2025, 1, 31);
+
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(start, 1, 1)).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(start, 1, 2)).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(RecurrenceFrequency.WEEKLY.occurrence(start, 2, 1)).isEqualTo(LocalDate.of(2025, 2, 14));
+    }
+
+    @Test
+    void materializeDue_ShouldCreateAllDueOccurrences_AndNotDuplicateOnRerun() {
+        RecurringTransaction rent = define("Rent", RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2025, 1, 31), null);
+        RecurringTransaction gym = define("Gym", RecurrenceFrequency.WEEKLY, 2,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1));
+
+        materializer.materializeDue(LocalDate.of(2025, 3, 31));
+        materializer.materializeDue(LocalDate.of(2025, 3, 31));
+
+        assertThat(occurrences(rent)).containsExactly(
+                LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31));
+        assertThat(occurrences(gym)).containsExactly(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 29));
+
+        assertThat(recurringTransactionRepository.findById(rent.getId()).orElseThrow().getNextOccurrence())
+                .isEqualTo(LocalDate.of(2025, 4, 30));
+        assertThat(recurringTransactionRepository.findById(gym.getId()).orElseThrow().getNextOccurrence()).isNull();
+    }
+
+    @Test
+    void materializeDue_ShouldWalkAllDefinitionsInChunks() {
+        ReflectionTestUtils.setField(materializer, "chunkSize", 2);
+        try {
+            List<RecurringTransaction> definitions = List.of(
+                    define("A", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 6, 1), null),
+                    define("B", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 6, 1), null),
+                    define("C", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 6, 1), null),
+                    define("D", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 6, 1), null),
+                    define("E", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 6, 1), null)
+            );
+
+            materializer.materializeDue(LocalDate.of(2025, 6, 2));
+
+            for (RecurringTransaction definition : definitions) {
+                assertThat(occurrences(definition)).hasSize(3);
+            }
+        } finally {
+            ReflectionTestUtils.setField(materializer, "chunkSize", 1000);
+        }
+    }
+
+    @Test
+    void materializeDue_ShouldSkipFailingDefinition_AndMaterializeTheRest() {
+        ReflectionTestUtils.setField(materializer, "chunkSize", 2);
+        RecurringTransaction broken = null;
+        try {
+            RecurringTransaction first = define("A", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 7, 1), null);
+            broken = define("Broken", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 7, 1), null);
+            RecurringTransaction third = define("C", RecurrenceFrequency.DAILY, 1, LocalDate.of(2025, 7, 1), null);
+            // Wystapienie juz istnieje - INSERT z porcji narusza unikalny klucz (recurring_id, occurrence_date)
+            transactionRepository.save(broken.newOccurrence());
+
+            materializer.materializeDue(LocalDate.of(2025, 7, 2));
+
+            assertThat(occurrences(first)).hasSize(3);
+            assertThat(occurrences(third)).hasSize(3);
+            assertThat(occurrences(broken)).containsExactly(LocalDate.of(2025, 7, 1));
+            assertThat(recurringTransactionRepository.findById(broken.getId()).orElseThrow().getNextOccurrence())
+                    .isEqualTo(LocalDate.of(2025, 7, 1));
+        } finally {
+            ReflectionTestUtils.setField(materializer, "chunkSize", 1000);
+            if (broken != null) {
+                // Nie zostawiamy zaleglej, blednej definicji przebiegom z innych testow
+                broken.setNextOccurrence(null);
+                recurringTransactionRepository.save(broken);
+            }
+        }
+    }
+
+    @Test
+    void materializeDue_ShouldSkipDefinitionsOfDeletedBudget() {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setName("Recurring budget");
+        budget.setLimit(new BigDecimal("5000.00"));
+        budget.setStartDate(LocalDate.of(2025, 1, 1));
+        budget.setEndDate(LocalDate.of(2025, 12, 31));
+        budget = budgetService.createBudget(budget);
+
+        RecurringTransaction rent = new RecurringTransaction();
+        rent.setBudget(budget);
+        rent = define(rent, "Rent", RecurrenceFrequency.MONTHLY, 1, LocalDate.of(2025, 1, 1), null);
+
+        materializer.materializeDue(LocalDate.of(2025, 1, 31));
+        budgetService.deleteBudget(budget.getId(), user.getId());
+        materializer.materializeDue(LocalDate.of(2025, 3, 31));
+
+        // Jedyne wystapienie sprzed usuniecia zostalo oznaczone jako usuniete razem z budzetem
+        assertThat(occurrences(rent)).isEmpty();
+        assertThat(recurringTransactionRepository.findById(rent.getId()).orElseThrow().getNextOccurrence()).isNull();
+    }
+
+    @Test
+    void materializeDue_ShouldSkipDefinitionOfDeletedBudget_EvenWhenStillScheduled() {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setName("Tombstoned budget");
+        budget.setLimit(new BigDecimal("5000.00"));
+        budget.setStartDate(LocalDate.of(2025, 1, 1));
+        budget.setEndDate(LocalDate.of(2025, 12, 31));
+        budget = budgetService.createBudget(budget);
+        budgetService.deleteBudget(budget.getId(), user.getId());
+
+        // Definicja dopisana juz po usunieciu - odfiltrowana przez findDue, a nie przez dezaktywacje
+        RecurringTransaction gym = new RecurringTransaction();
+        gym.setBudget(budget);
+        gym = define(gym, "Gym", RecurrenceFrequency.WEEKLY, 1, LocalDate.of(2025, 1, 1), null);
+
+        materializer.materializeDue(LocalDate.of(2025, 1, 31));
+
+        assertThat(occurrences(gym)).isEmpty();
+        assertThat(recurringTransactionRepository.findById(gym.getId()).orElseThrow().getNextOccurrence())
+                .isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void uniqueOccurrenceConstraint_ShouldRejectDuplicateInstance() {
+        // Definicja nie jest zapisywana, zeby przebiegi z innych testow jej nie materializowaly
+        RecurringTransaction rent = new RecurringTransaction();
+        rent.setId(System.nanoTime());
+        rent.setUser(user);
+        rent.setCategory(category);
+        rent.setAmount(new BigDecimal("2500.00"));
+        rent.setType(TransactionType.EXPENSE);
+        rent.setNextOccurrence(LocalDate.of(2025, 1, 1));
+        transactionRepository.save(rent.newOccurrence());
+
+        assertThatThrownBy(() -> transactionRepository.saveAndFlush(rent.newOccurrence()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
\ No newline at end of file
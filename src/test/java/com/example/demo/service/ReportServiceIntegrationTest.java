@@ -0,0 +1,74 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.BudgetSummaryDTO;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.support.BudgetFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Podsumowanie budzetu na prawdziwej bazie - sumy i liczba zapytan (ReportServiceTest uzywa mockow).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestSecurityConfig.class, BudgetFixtures.class})
+class ReportServiceIntegrationTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BudgetFixtures fixtures;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.createUser("summary");
+        category = fixtures.createCategory(user, "Summary");
+    }
+
+    @Test
+    void getBudgetSummary_ShouldAggregateEverythingInOneQuery() {
+        Budget budget = fixtures.createBudget(user, "Dashboard");
+        transactionService.createTransaction(fixtures.transaction(category, budget, "300.00", TransactionType.INCOME), user.getId());
+        transactionService.createTransaction(fixtures.transaction(category, budget, "120.25", TransactionType.EXPENSE), user.getId());
+        TransactionDTO removed = transactionService.createTransaction(fixtures.transaction(category, budget, "50.00", TransactionType.EXPENSE), user.getId());
+        transactionService.deleteTransaction(removed.getId(), user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BudgetSummaryDTO summary = reportService.getBudgetSummary(budget.getId(), user.getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(summary.getBudgetName()).isEqualTo("Dashboard");
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("300.00");
+        assertThat(summary.getTotalSpent()).isEqualByComparingTo("120.25");
+        assertThat(summary.getTransactionCount()).isEqualTo(2L);
+        assertThat(summary.getBalance()).isEqualByComparingTo("179.75");
+        assertThat(summary.getTotalLimit()).isEqualByComparingTo("1000.00");
+        assertThat(summary.getRemainingAmount()).isEqualByComparingTo("879.75");
+        assertThat(reportService.getBudgetSummary(budget.getId(), user.getId() + 1000)).isEmpty();
+    }
+}
\ No newline at end of file
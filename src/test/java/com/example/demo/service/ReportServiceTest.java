@@ -21,7 +21,6 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,9 +32,6 @@ class ReportServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @Mock
-    private BudgetAnalyticsService budgetAnalyticsService;
-
     @InjectMocks
     private ReportService reportService;
 
@@ -69,30 +65,27 @@ class ReportServiceTest {
 
     @Test
     void getBudgetSummary_ShouldReturnSummary_WhenBudgetExists() {
-        when(budgetRepository.findById(1L)).thenReturn(Optional.of(testBudget));
-        when(budgetAnalyticsService.calculateTotalSpent(1L)).thenReturn(new BigDecimal("500.00")); // Dodaj tę linię
+        BudgetSummaryDTO summary = new BudgetSummaryDTO(1L, "Monthly Budget", new BigDecimal("1000.00"),
+                BigDecimal.ZERO, new BigDecimal("500.00"), 2L);
+        when(budgetRepository.findSummary(1L, 1L)).thenReturn(Optional.of(summary));
 
-        BudgetSummaryDTO result = reportService.getBudgetSummary(1L);
+        BudgetSummaryDTO result = reportService.getBudgetSummary(1L, 1L).orElseThrow();
 
         assertThat(result.getBudgetId()).isEqualTo(1L);
         assertThat(result.getBudgetName()).isEqualTo("Monthly Budget");
         assertThat(result.getTotalLimit()).isEqualByComparingTo("1000.00");
         assertThat(result.getTotalSpent()).isEqualByComparingTo("500.00");
         assertThat(result.getRemainingAmount()).isEqualByComparingTo("500.00");
-        verify(budgetRepository, times(1)).findById(1L);
-        verify(budgetAnalyticsService, times(1)).calculateTotalSpent(1L); // Dodaj weryfikację
+        verify(budgetRepository, times(1)).findSummary(1L, 1L);
     }
 
     @Test
-    void getBudgetSummary_ShouldThrowException_WhenBudgetNotFound() {
-        when(budgetRepository.findById(999L)).thenReturn(Optional.empty());
+    void getBudgetSummary_ShouldReturnEmpty_WhenBudgetNotFoundOrNotOwned() {
+        when(budgetRepository.findSummary(999L, 1L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> reportService.getBudgetSummary(999L))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Budget not found");
+        assertThat(reportService.getBudgetSummary(999L, 1L)).isEmpty();
 
-        verify(budgetRepository, times(1)).findById(999L);
-        verify(budgetAnalyticsService, never()).calculateTotalSpent(anyLong());
+        verify(budgetRepository, times(1)).findSummary(999L, 1L);
     }
 
     @Test
@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.SyncResponse;
+import com.example.demo.dto.TransactionDTO;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        user = new User();
+        user.setUsername("sync-" + suffix);
+        user.setEmail("sync-" + suffix + "@example.com");
+        user.setPassword("hash");
+        user = userRepository.save(user);
+        category = categoryRepository.save(new Category("Sync-" + suffix, user, false));
+    }
+
+    private TransactionDTO createTransaction(String description, Budget budget) {
+        Transaction transaction = new Transaction();
+        transaction.setCategory(new Category(category.getId()));
+        transaction.setBudget(budget != null ? new Budget(budget.getId()) : null);
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setDescription(description);
+        transaction.setDate(LocalDateTime.of(2025, 3, 1, 12, 0));
+        return transactionService.createTransaction(transaction, user.getId());
+    }
+
+    private Budget createBudget(String name) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setName(name);
+        budget.setStartDate(LocalDate.of(2025, 1, 1));
+        budget.setEndDate(LocalDate.of(2025, 12, 31));
+        budget.setLimit(new BigDecimal("1000.00"));
+        return budgetService.createBudget(budget);
+    }
+
+    @Test
+    void changesSince_ShouldReturnOnlyChangesAfterVersion_WithTombstones() {
+        TransactionDTO unchanged = createTransaction("Unchanged", null);
+        TransactionDTO toUpdate = createTransaction("Before", null);
+        TransactionDTO toDelete = createTransaction("Deleted", null);
+        long version = syncService.changesSince(user.getId(), 0).getVersion();
+
+        Transaction update = new Transaction();
+        update.setCategory(new Category(category.getId()));
+        update.setAmount(new BigDecimal("20.00"));
+        update.setType(TransactionType.EXPENSE);
+        update.setDescription("After");
+        update.setDate(LocalDateTime.of(2025, 3, 2, 12, 0));
+        transactionService.updateTransaction(toUpdate.getId(), update, user.getId());
+        transactionService.deleteTransaction(toDelete.getId(), user.getId());
+        Budget budget = createBudget("Holidays");
+
+        SyncResponse delta = syncService.changesSince(user.getId(), version);
+
+        assertThat(delta.isFull()).isFalse();
+        assertThat(delta.getVersion()).isGreaterThan(version);
+        assertThat(delta.getTransactions()).extracting(TransactionDTO::getId).containsExactly(toUpdate.getId());
+        assertThat(delta.getTransactions().get(0).getDescription()).isEqualTo("After");
+        assertThat(delta.getDeletedTransactionIds()).containsExactly(toDelete.getId());
+        assertThat(delta.getBudgets()).extracting(Budget::getId).containsExactly(budget.getId());
+        assertThat(delta.getTransactions()).extracting(TransactionDTO::getId).doesNotContain(unchanged.getId());
+
+        SyncResponse upToDate = syncService.changesSince(user.getId(), delta.getVersion());
+        assertThat(upToDate.getTransactions()).isEmpty();
+        assertThat(upToDate.getDeletedTransactionIds()).isEmpty();
+        assertThat(upToDate.getBudgets()).isEmpty();
+    }
+
+    @Test
+    void deleteBudget_ShouldTombstoneBudgetAndItsTransactions() {
+        Budget budget = createBudget("Renovation");
+        TransactionDTO inBudget = createTransaction("Paint", budget);
+        TransactionDTO outside = createTransaction("Coffee", null);
+        long version = syncService.changesSince(user.getId(), 0).getVersion();
+
+        budgetService.deleteBudget(budget.getId(), user.getId());
+
+        SyncResponse delta = syncService.changesSince(user.getId(), version);
+        assertThat(delta.getDeletedBudgetIds()).containsExactly(budget.getId());
+        assertThat(delta.getDeletedTransactionIds()).containsExactly(inBudget.getId());
+
+        SyncResponse full = syncService.changesSince(user.getId(), 0);
+        assertThat(full.isFull()).isTrue();
+        assertThat(full.getTransactions()).extracting(TransactionDTO::getId).containsExactly(outside.getId());
+        assertThat(full.getBudgets()).isEmpty();
+        assertThat(full.getCategories()).extracting(Category::getId).contains(category.getId());
+    }
+
+    @Test
+    void changesSince_ShouldFallBackToFullSync_WhenVersionIsAhead() {
+        createTransaction("Only", null);
+
+        SyncResponse response = syncService.changesSince(user.getId(), 1_000_000L);
+
+        assertThat(response.isFull()).isTrue();
+        assertThat(response.getTransactions()).hasSize(1);
+    }
+}
\ No newline at end of file
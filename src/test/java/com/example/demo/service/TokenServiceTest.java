@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.InvalidTokenException;
+import com.example.demo.model.LoginResponse;
+import com.example.demo.security.JwtPrincipal;
+import com.example.demo.security.JwtUtil;
+import com.example.demo.security.TokenRevocationList;
+import com.example.demo.security.UserStateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Mock
+    private UserStateCache userStateCache;
+
+    @InjectMocks
+    private TokenService tokenService;
+
+    private JwtPrincipal refreshPrincipal;
+    private JwtPrincipal accessPrincipal;
+
+    @BeforeEach
+    void setUp() {
+        Instant now = Instant.now();
+        refreshPrincipal = new JwtPrincipal(1L, "test@example.com", "refresh-jti", JwtUtil.REFRESH_TOKEN,
+                now, now.plus(14, ChronoUnit.DAYS));
+        accessPrincipal = new JwtPrincipal(1L, "test@example.com", "access-jti", JwtUtil.ACCESS_TOKEN,
+                now, now.plus(15, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void refresh_ShouldRotateToken_AndIssueNewPair() {
+        when(jwtUtil.parseToken("refresh")).thenReturn(refreshPrincipal);
+        when(userStateCache.isTokenAccepted(refreshPrincipal)).thenReturn(true);
+        when(tokenRevocationList.revoke("refresh-jti", 1L, refreshPrincipal.getExpiresAt())).thenReturn(true);
+        when(jwtUtil.generateToken("test@example.com", 1L)).thenReturn("new-access");
+        when(jwtUtil.generateRefreshToken("test@example.com", 1L)).thenReturn("new-refresh");
+
+        LoginResponse response = tokenService.refresh("refresh");
+
+        assertThat(response.getToken()).isEqualTo("new-access");
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh");
+    }
+
+    @Test
+    void refresh_ShouldReject_WhenConcurrentReplayLostTheRevocation() {
+        when(jwtUtil.parseToken("refresh")).thenReturn(refreshPrincipal);
+        when(userStateCache.isTokenAccepted(refreshPrincipal)).thenReturn(true);
+        when(tokenRevocationList.revoke(anyString(), anyLong(), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> tokenService.refresh("refresh"))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(jwtUtil, never()).generateToken(anyString(), anyLong());
+    }
+
+    @Test
+    void refresh_ShouldReject_WhenTokenAlreadyRevoked() {
+        when(jwtUtil.parseToken("refresh")).thenReturn(refreshPrincipal);
+        when(tokenRevocationList.isRevoked("refresh-jti")).thenReturn(true);
+
+        assertThatThrownBy(() -> tokenService.refresh("refresh"))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(tokenRevocationList, never()).revoke(anyString(), anyLong(), any());
+    }
+
+    @Test
+    void refresh_ShouldReject_AccessToken() {
+        when(jwtUtil.parseToken("access")).thenReturn(accessPrincipal);
+
+        assertThatThrownBy(() -> tokenService.refresh("access"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Invalid refresh token");
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessAndRefreshTokens() {
+        when(jwtUtil.parseToken("refresh")).thenReturn(refreshPrincipal);
+
+        tokenService.logout(accessPrincipal, "refresh");
+
+        verify(tokenRevocationList).revoke("access-jti", 1L, accessPrincipal.getExpiresAt());
+        verify(tokenRevocationList).revoke("refresh-jti", 1L, refreshPrincipal.getExpiresAt());
+    }
+
+    @Test
+    void logout_ShouldReject_RefreshTokenOfAnotherUser() {
+        JwtPrincipal foreign = new JwtPrincipal(2L, "other@example.com", "foreign-jti", JwtUtil.REFRESH_TOKEN,
+                Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS));
+        when(jwtUtil.parseToken("foreign")).thenReturn(foreign);
+
+        assertThatThrownBy(() -> tokenService.logout(accessPrincipal, "foreign"))
+                .isInstanceOf(InvalidTokenException.class);
+        verify(tokenRevocationList, never()).revoke(eq("foreign-jti"), anyLong(), any());
+    }
+}
\ No newline at end of file
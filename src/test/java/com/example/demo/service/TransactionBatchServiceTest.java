@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.repository.BudgetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ChangeSequenceService changeSequenceService;
+
+    @Mock
+    private BudgetTotalsService budgetTotalsService;
+
+    @InjectMocks
+    private TransactionBatchService batchService;
+
+    private Transaction item(Long budgetId, Long categoryId) {
+        Transaction transaction = new Transaction();
+        if (budgetId != null) {
+            transaction.setBudget(new Budget(budgetId));
+        }
+        transaction.setCategory(new Category(categoryId));
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setDate(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return transaction;
+    }
+
+    @Test
+    void createTransactions_ShouldValidateOwnershipWithSetQueriesAndReportPerItem() {
+        when(budgetRepository.findOwnedIds(eq(1L), anyCollection())).thenReturn(Set.of(10L));
+        when(categoryRepository.findUsableIds(eq(1L), anyCollection())).thenReturn(Set.of(100L));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Transaction> saved = new ArrayList<>(invocation.getArgument(0));
+            long id = 500;
+            for (Transaction t : saved) {
+                t.setId(id++);
+            }
+            return saved;
+        });
+
+        List<BatchItemResult> results = batchService.createTransactions(List.of(
+                item(10L, 100L),
+                item(20L, 100L),
+                item(null, 200L),
+                item(null, 100L)
+        ), 1L);
+
+        assertThat(results).extracting(BatchItemResult::getStatus)
+                .containsExactly(BatchItemResult.CREATED, BatchItemResult.REJECTED, BatchItemResult.REJECTED, BatchItemResult.CREATED);
+        assertThat(results.get(0).getId()).isEqualTo(500L);
+        assertThat(results.get(3).getId()).isEqualTo(501L);
+        assertThat(results.get(1).getError()).isEqualTo("Budget not found or access denied.");
+        verify(budgetRepository, times(1)).findOwnedIds(eq(1L), anyCollection());
+        verify(categoryRepository, times(1)).findUsableIds(eq(1L), anyCollection());
+        verify(budgetRepository, never()).findById(anyLong());
+        verify(categoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void createTransactions_ShouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> batchService.createTransactions(List.of(), 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
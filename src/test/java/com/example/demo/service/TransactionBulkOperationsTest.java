@@ -0,0 +1,165 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TestSecurityConfig;
+import com.example.demo.dto.BulkTransactionRequest;
+import com.example.demo.dto.TransactionFilter;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Operacje masowe maja stala liczbe zapytan niezaleznie od liczby wierszy.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class TransactionBulkOperationsTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User stranger;
+    private Category food;
+    private Category fuel;
+    private List<Long> ownerIds;
+    private List<Long> strangerIds;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("bulk-owner-");
+        stranger = saveUser("bulk-stranger-");
+        food = categoryRepository.save(new Category("Food-" + UUID.randomUUID(), owner, false));
+        fuel = categoryRepository.save(new Category("Fuel-" + UUID.randomUUID(), owner, false));
+        ownerIds = saveTransactions(owner, 200);
+        strangerIds = saveTransactions(stranger, 20);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private User saveUser(String prefix) {
+        String suffix = UUID.randomUUID().toString();
+        User user = new User();
+        user.setUsername(prefix + suffix);
+        user.setEmail(prefix + suffix + "@example.com");
+        user.setPassword("hash");
+        return userRepository.save(user);
+    }
+
+    private List<Long> saveTransactions(User user, int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(user);
+            transaction.setCategory(food);
+            transaction.setAmount(BigDecimal.valueOf(i + 1));
+            transaction.setType(i % 2 == 0 ? TransactionType.EXPENSE : TransactionType.INCOME);
+            transaction.setDescription("Imported " + i);
+            transaction.setDate(LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i));
+            transactions.add(transaction);
+        }
+        return transactionRepository.saveAll(transactions).stream().map(Transaction::getId).toList();
+    }
+
+    private long countForUser(User user) {
+        return transactionRepository.findByUserId(user.getId()).size();
+    }
+
+    @Test
+    void deleteTransactions_ShouldUseOneStatement_AndOnlyTouchOwnRows() {
+        BulkTransactionRequest request = new BulkTransactionRequest();
+        List<Long> ids = new ArrayList<>(ownerIds);
+        ids.addAll(strangerIds);
+        request.setIds(ids);
+
+        int deleted = transactionService.deleteTransactions(request, owner.getId()).getAffected();
+
+        assertThat(deleted).isEqualTo(200);
+        // Sumy per budzet (budget_totals) + numer zmiany (UPDATE + SELECT licznika) + jedno UPDATE oznaczajace usuniecie
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(countForUser(owner)).isZero();
+        assertThat(countForUser(stranger)).isEqualTo(20);
+    }
+
+    @Test
+    void recategorizeTransactions_ShouldUpdateRowsMatchingFilter() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setType(TransactionType.EXPENSE);
+        BulkTransactionRequest request = new BulkTransactionRequest();
+        request.setFilter(filter);
+        request.setCategoryId(fuel.getId());
+
+        int updated = transactionService.recategorizeTransactions(request, owner.getId()).getAffected();
+
+        assertThat(updated).isEqualTo(100);
+        // Walidacja kategorii + numer zmiany + jedno UPDATE
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(transactionRepository.findByUserId(owner.getId()))
+                .filteredOn(transaction -> transaction.getType() == TransactionType.EXPENSE)
+                .allMatch(transaction -> transaction.getCategory().getId().equals(fuel.getId()));
+    }
+
+    @Test
+    void bulkOperations_ShouldRejectEmptySelection_AndForeignCategory() {
+        BulkTransactionRequest empty = new BulkTransactionRequest();
+        empty.setFilter(new TransactionFilter());
+        assertThatThrownBy(() -> transactionService.deleteTransactions(empty, owner.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Category foreign = categoryRepository.save(new Category("Foreign-" + UUID.randomUUID(), stranger, false));
+        BulkTransactionRequest recategorize = new BulkTransactionRequest();
+        recategorize.setIds(ownerIds);
+        recategorize.setCategoryId(foreign.getId());
+        assertThatThrownBy(() -> transactionService.recategorizeTransactions(recategorize, owner.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(countForUser(owner)).isEqualTo(200);
+    }
+
+    @Test
+    void deleteTransaction_ShouldNotDeleteForeignTransaction() {
+        Long foreignId = strangerIds.get(0);
+
+        assertThatThrownBy(() -> transactionService.deleteTransaction(foreignId, owner.getId()))
+                .isInstanceOf(RuntimeException.class);
+        transactionService.deleteTransaction(ownerIds.get(0), owner.getId());
+
+        assertThat(transactionRepository.existsById(foreignId)).isTrue();
+        assertThat(transactionRepository.existsById(ownerIds.get(0))).isFalse();
+    }
+}
\ No newline at end of file
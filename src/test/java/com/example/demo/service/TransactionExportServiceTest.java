@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.InvalidDateRangeException;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.repository.TransactionRepository;
+import com.example.demo.service.TransactionExportService.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TransactionExportService exportService;
+
+    private Transaction transaction(Long id, String description) {
+        Category category = new Category();
+        category.setName("Food");
+
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setCategory(category);
+        transaction.setAmount(new BigDecimal("12.50"));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setDescription(description);
+        transaction.setDate(LocalDateTime.of(2025, 1, 15, 10, 30));
+        return transaction;
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        when(transactionRepository.streamForExport(1L, null, null, null))
+                .thenReturn(Stream.of(transaction(1L, "Lidl"), transaction(2L, "Biedronka")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, null, null, null, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(1L);
+        assertThat(objectMapper.readTree(lines[1]).get("description").asText()).isEqualTo("Biedronka");
+    }
+
+    @Test
+    void export_ShouldWriteCsvWithEscapedFieldsAndInclusiveEndDate() throws Exception {
+        when(transactionRepository.streamForExport(1L, 5L,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0)))
+                .thenReturn(Stream.of(transaction(1L, "Zakupy, \"duze\"")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, 5L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,date,type,amount,category,budget_id,description\n" +
+                "1,2025-01-15T10:30,EXPENSE,12.50,Food,,\"Zakupy, \"\"duze\"\"\"\n");
+    }
+
+    @Test
+    void export_ShouldNeutralizeSpreadsheetFormulasInCsvTextFields() throws Exception {
+        Transaction formula = transaction(1L, "=HYPERLINK(\"http://evil\",\"x\")");
+        formula.getCategory().setName("@SUM(A1:A2)");
+        when(transactionRepository.streamForExport(1L, null, null, null))
+                .thenReturn(Stream.of(formula, transaction(2L, "+48 123"), transaction(3L, "-5 zwrot")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, null, null, null, ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,date,type,amount,category,budget_id,description\n" +
+                "1,2025-01-15T10:30,EXPENSE,12.50,'@SUM(A1:A2),,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\"\n" +
+                "2,2025-01-15T10:30,EXPENSE,12.50,Food,,'+48 123\n" +
+                "3,2025-01-15T10:30,EXPENSE,12.50,Food,,'-5 zwrot\n");
+    }
+
+    @Test
+    void validateRange_ShouldRejectEndBeforeStart() {
+        assertThatThrownBy(() -> exportService.validateRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+}
\ No newline at end of file
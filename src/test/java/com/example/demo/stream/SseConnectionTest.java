@@ -0,0 +1,138 @@
+package com.example.demo.stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseConnectionTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService writer = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        writer.shutdownNow();
+    }
+
+    @Test
+    void offer_ShouldDeliverEventsInOrder() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        SseConnection connection = new SseConnection(1L, emitter, 8, executor, writer, 5000);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(connection.offer(SseEmitter.event().name("change").data("e" + i))).isTrue();
+        }
+
+        assertThat(emitter.awaitSent(5)).isTrue();
+        assertThat(emitter.sent).containsExactly("e0", "e1", "e2", "e3", "e4");
+        assertThat(connection.isOpen()).isTrue();
+    }
+
+    @Test
+    void offer_ShouldDropSlowConsumer_WhenBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        SseConnection connection = new SseConnection(1L, emitter, 4, executor, writer, 5000);
+
+        // Pierwsze zdarzenie blokuje watek wysylajacy, kolejne wypelniaja bufor
+        boolean accepted = true;
+        for (int i = 0; i < 10 && accepted; i++) {
+            accepted = connection.offer(SseEmitter.event().data("e" + i));
+        }
+
+        assertThat(accepted).isFalse();
+        assertThat(connection.isOpen()).isFalse();
+        assertThat(connection.offer(SseEmitter.event().data("late"))).isFalse();
+
+        release.countDown();
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.sent).hasSizeLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void send_ShouldReleaseSenderThread_WhenClientStalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalledEmitter = new RecordingEmitter(release);
+        RecordingEmitter healthyEmitter = new RecordingEmitter(new CountDownLatch(0));
+        // Jeden watek wysylajacy dla obu polaczen - zawieszony zapis nie moze go trzymac
+        SseConnection stalled = new SseConnection(1L, stalledEmitter, 4, executor, writer, 100);
+        SseConnection healthy = new SseConnection(2L, healthyEmitter, 4, executor, writer, 100);
+
+        try {
+            assertThat(stalled.offer(SseEmitter.event().data("e0"))).isTrue();
+            for (int i = 0; i < 3; i++) {
+                assertThat(healthy.offer(SseEmitter.event().data("e" + i))).isTrue();
+            }
+
+            assertThat(healthyEmitter.awaitSent(3)).isTrue();
+            assertThat(healthyEmitter.sent).containsExactly("e0", "e1", "e2");
+            assertThat(stalled.isOpen()).isFalse();
+            assertThat(stalled.offer(SseEmitter.event().data("late"))).isFalse();
+        } finally {
+            release.countDown();
+        }
+
+        // Emiter zawieszonego polaczenia jest konczony dopiero po zwolnieniu zapisu
+        assertThat(stalledEmitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(healthy.isOpen()).isTrue();
+    }
+
+    @Test
+    void close_ShouldCompleteEmitter_WhenIdle() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        SseConnection connection = new SseConnection(1L, emitter, 4, executor, writer, 5000);
+
+        connection.close();
+
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(connection.offer(SseEmitter.event().data("late"))).isFalse();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch release;
+        private final List<Object> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            builder.build().stream()
+                    .map(DataWithMediaType::getData)
+                    .filter(data -> data instanceof String text && text.matches("e\\d+"))
+                    .forEach(sent::add);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        boolean awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.size() >= count;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.example.demo.support;
+
+import com.example.demo.model.Budget;
+import com.example.demo.model.Category;
+import com.example.demo.model.Transaction;
+import com.example.demo.model.TransactionType;
+import com.example.demo.model.User;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.BudgetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Wspolne dane dla testow integracyjnych budzetow: uzytkownik i kategoria z losowym sufiksem
+ * (testy dziela jedna baze H2), budzet na 2025 rok zalozony przez BudgetService (razem z wierszem
+ * budget_totals) i transakcja gotowa do TransactionService.createTransaction.
+ * Dolaczany przez {@code @Import(BudgetFixtures.class)}.
+ */
+@TestComponent
+public class BudgetFixtures {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    public User createUser(String prefix) {
+        String suffix = UUID.randomUUID().toString();
+        User user = new User();
+        user.setUsername(prefix + "-" + suffix);
+        user.setEmail(prefix + "-" + suffix + "@example.com");
+        user.setPassword("hash");
+        return userRepository.save(user);
+    }
+
+    public Category createCategory(User user, String prefix) {
+        return categoryRepository.save(new Category(prefix + "-" + UUID.randomUUID(), user, false));
+    }
+
+    public Budget createBudget(User user, String name) {
+        return createBudget(user, name, "1000.00");
+    }
+
+    public Budget createBudget(User user, String name, String limit) {
+        Budget budget = new Budget();
+        budget.setUser(user);
+        budget.setName(name);
+        budget.setStartDate(LocalDate.of(2025, 1, 1));
+        budget.setEndDate(LocalDate.of(2025, 12, 31));
+        budget.setLimit(new BigDecimal(limit));
+        return budgetService.createBudget(budget);
+    }
+
+    // Referencje z samym id - tak jak przychodza w body requestu
+    public Transaction transaction(Category category, Budget budget, String amount, TransactionType type) {
+        Transaction transaction = new Transaction();
+        transaction.setCategory(new Category(category.getId()));
+        transaction.setBudget(new Budget(budget.getId()));
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(type);
+        transaction.setDescription(type == TransactionType.INCOME ? "Income" : "Expense");
+        transaction.setDate(LocalDateTime.of(2025, 3, 1, 12, 0));
+        return transaction;
+    }
+}
\ No newline at end of file
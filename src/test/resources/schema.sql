@@ -27,4 +27,8 @@ CREATE TABLE IF NOT EXISTS transaction (
     date TIMESTAMP NOT NULL,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (budget_id) REFERENCES budget(id) ON DELETE SET NULL
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_user_date_id ON transaction (user_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_transaction_budget_date_id ON transaction (budget_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_transaction_budget_type ON transaction (budget_id, type);
\ No newline at end of file